@@ -0,0 +1,70 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.JavaBackendInterviewApplication;
+import com.real.interview.reactive.ReactiveMovieApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application for benchmarks, without a web server unless {@link #startServer} is used.
+ * Every context gets its own in-memory H2 database and SQL logging is switched off,
+ * so benchmarks measure the data path rather than stdout.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * Starts Tomcat on a random port, see {@link #port(ConfigurableApplicationContext)}.
+     */
+    static ConfigurableApplicationContext startServer(String... properties) {
+        List<String> args = new ArrayList<>(List.of("server.port=0"));
+        args.addAll(Arrays.asList(properties));
+        return start(WebApplicationType.SERVLET, args.toArray(String[]::new));
+    }
+
+    /**
+     * Starts the WebFlux/R2DBC variant on Netty on a random port, with its own in-memory database.
+     */
+    static ConfigurableApplicationContext startReactiveServer(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.r2dbc.url=r2dbc:h2:mem:///bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "logging.level.root=WARN"));
+        args.addAll(Arrays.asList(properties));
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(ReactiveMovieApplication.class)
+                .profiles(ReactiveMovieApplication.PROFILE)
+                .web(WebApplicationType.REACTIVE)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "logging.level.root=WARN"));
+        args.addAll(Arrays.asList(properties));
+        // Passed as command line arguments so they take precedence over application.properties
+        return new SpringApplicationBuilder(JavaBackendInterviewApplication.class)
+                .web(webApplicationType)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,73 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.dto.MovieIngestReport;
+import com.real.interview.dto.MovieIngestResult;
+import com.real.interview.entity.Movie;
+import com.real.interview.reactive.ReactiveMovie;
+import com.real.interview.reactive.ReactiveMovieRepository;
+import com.real.interview.service.MovieIngestService;
+import org.springframework.context.ApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the benchmark database through the batched ingest path.
+ * Movie i is titled "Movie i", released in 1950 + i % 75, so benchmarks can build matching lookups.
+ */
+final class CatalogSeeder {
+
+    private static final int CHUNK = 10_000;
+    static final String[] GENRES = {"Drama", "Comedy", "Action", "Horror", "Documentary", "Animation"};
+
+    private CatalogSeeder() {
+    }
+
+    /**
+     * @return the generated ids, where element i belongs to movie i
+     */
+    static long[] seed(ApplicationContext context, int size) {
+        MovieIngestService movieIngestService = context.getBean(MovieIngestService.class);
+        long[] ids = new long[size];
+        List<Movie> chunk = new ArrayList<>(CHUNK);
+        int written = 0;
+        for (int i = 0; i < size; i++) {
+            chunk.add(movie(i));
+            if (chunk.size() == CHUNK || i == size - 1) {
+                MovieIngestReport report = movieIngestService.ingest(chunk);
+                for (MovieIngestResult result : report.results()) {
+                    ids[written++] = result.id();
+                }
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Same catalog for the reactive variant, written through R2DBC.
+     */
+    static void seedReactive(ApplicationContext context, int size) {
+        ReactiveMovieRepository repository = context.getBean(ReactiveMovieRepository.class);
+        repository.saveAll(Flux.range(0, size).map(i -> {
+            Movie movie = movie(i);
+            ReactiveMovie row = new ReactiveMovie();
+            row.setTitle(movie.getTitle());
+            row.setTitleNormalized(Movie.normalizeTitle(movie.getTitle()));
+            row.setGenre(movie.getGenre());
+            row.setReleaseYear(movie.getReleaseYear());
+            row.setRating(movie.getRating());
+            return row;
+        })).then().block();
+    }
+
+    static Movie movie(int i) {
+        Movie movie = new Movie();
+        movie.setTitle("Movie " + i);
+        movie.setGenre(GENRES[i % GENRES.length]);
+        movie.setReleaseYear(1950 + i % 75);
+        movie.setRating((i % 100) / 10.0);
+        return movie;
+    }
+}
@@ -0,0 +1,75 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read latency of the MovieRepository finders with the Hibernate second-level and query caches off and on.
+ * The Spring lookup cache is disabled so only the Hibernate regions sit between the call and H2;
+ * ids are drawn from a Zipfian distribution, finder arguments from a small hot set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+public class HibernateCacheBenchmark {
+
+    private static final int HOT_YEARS = 10;
+
+    @Param({"off", "on"})
+    private String l2cache;
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieRepository movieRepository;
+    private ZipfianIds ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean enabled = "on".equals(l2cache);
+        context = BenchmarkContext.start(
+                "movie.cache.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + enabled,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + enabled);
+        movieRepository = context.getBean(MovieRepository.class);
+        ids = new ZipfianIds(CatalogSeeder.seed(context, catalogSize), 1.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Movie> findById() {
+        return movieRepository.findById(ids.next());
+    }
+
+    @Benchmark
+    public List<Movie> findByTitleAndReleaseYear() {
+        int i = ThreadLocalRandom.current().nextInt(1000);
+        return movieRepository.findByTitleAndReleaseYear("Movie " + i, 1950 + i % 75);
+    }
+
+    @Benchmark
+    public List<Movie> findByGenre() {
+        return movieRepository.findByGenre(CatalogSeeder.GENRES[ThreadLocalRandom.current().nextInt(CatalogSeeder.GENRES.length)]);
+    }
+
+    @Benchmark
+    public List<Movie> findByReleaseYear() {
+        return movieRepository.findByReleaseYear(1950 + ThreadLocalRandom.current().nextInt(HOT_YEARS));
+    }
+}
@@ -0,0 +1,207 @@
+package com.real.interview.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test comparing the servlet stack on platform threads, the servlet stack on
+ * virtual threads (virtual-threads profile), the WebFlux/R2DBC variant (ReactiveMovieApplication)
+ * and the servlet stack with the production settings of application-prod.properties (prod).
+ * <p>
+ * For each mode the application is started on a random port over a seeded catalog. Every client sends
+ * GET /api/movies/search requests back to back (each one a database query, the lookup cache does not
+ * apply) for the measurement window; throughput and latency percentiles are printed per mode and
+ * concurrency level. All servlet modes get the same Tomcat connection limits, so only the executor and
+ * the pool, statement cache and JPA settings from the profile differ. SQL logging is off in every mode
+ * (see BenchmarkContext), so "platform" against "prod" compares the defaults without their stdout cost.
+ * <p>
+ * Virtual threads need a Java 21+ runtime for the JVM running this harness; on older runtimes the
+ * "virtual" rows silently measure platform threads again, and a warning is printed.
+ * <pre>
+ * mvn -Pbenchmark -DskipTests verify -Dbenchmark.main=com.real.interview.benchmark.MovieApiLoadTest \
+ *     -Djmh.args="clients=1000,2500,5000,10000 duration=30 catalogSize=10000 modes=platform,virtual,reactive"
+ * # production profile against the defaults
+ * mvn -Pbenchmark -DskipTests verify -Dbenchmark.main=com.real.interview.benchmark.MovieApiLoadTest \
+ *     -Djmh.args="clients=50,200,1000 duration=30 catalogSize=10000 modes=platform,prod minProdRatio=0.95"
+ * </pre>
+ */
+public final class MovieApiLoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private MovieApiLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int[] clients = Arrays.stream(options.getOrDefault("clients", "1000,2500,5000,10000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int seconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int catalogSize = Integer.parseInt(options.getOrDefault("catalogSize", "10000"));
+        List<String> modes = List.of(options.getOrDefault("modes", "platform,virtual,reactive").split(","));
+        // With modes=platform,prod: fail when prod reaches less than this share of the default throughput
+        double minProdRatio = Double.parseDouble(options.getOrDefault("minProdRatio", "0"));
+
+        if (modes.contains("virtual") && Runtime.version().feature() < 21) {
+            System.out.println("WARNING: Java " + Runtime.version().feature()
+                    + " has no virtual threads, the virtual mode runs on platform threads");
+        }
+
+        Map<String, Double> throughput = new HashMap<>();
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %8s %10s %12s %9s %9s %9s %9s %8s %8s %9s",
+                "mode", "clients", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors",
+                "threads", "heap MB"));
+        for (String mode : modes) {
+            ConfigurableApplicationContext context = start(mode);
+            try {
+                if ("reactive".equals(mode)) {
+                    CatalogSeeder.seedReactive(context, catalogSize);
+                } else {
+                    CatalogSeeder.seed(context, catalogSize);
+                }
+                URI base = URI.create("http://localhost:" + BenchmarkContext.port(context));
+                run(base, clients[0], warmupSeconds, catalogSize);
+                for (int concurrency : clients) {
+                    Result result = run(base, concurrency, seconds, catalogSize);
+                    Histogram latency = result.latency();
+                    String line = String.format("%-9s %8d %10d %12.1f %9.2f %9.2f %9.2f %9.2f %8d %8d %9.1f",
+                            mode, concurrency, latency.getTotalCount(), latency.getTotalCount() / (double) seconds,
+                            millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                            millis(latency.getValueAtPercentile(99.9)), millis(latency.getMaxValue()), result.errors(),
+                            result.peakThreads(), result.heapBytes() / (1024.0 * 1024.0));
+                    System.out.println(line);
+                    report.add(line);
+                    throughput.put(mode + "/" + concurrency, latency.getTotalCount() / (double) seconds);
+                }
+            } finally {
+                context.close();
+            }
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+
+        if (modes.contains("platform") && modes.contains("prod")) {
+            boolean belowMinimum = false;
+            System.out.println();
+            for (int concurrency : clients) {
+                double ratio = throughput.get("prod/" + concurrency) / throughput.get("platform/" + concurrency);
+                System.out.printf("prod vs platform at %d clients: %.2fx req/s%n", concurrency, ratio);
+                belowMinimum |= ratio < minProdRatio;
+            }
+            if (belowMinimum) {
+                System.out.println("FAILED: prod throughput is below " + minProdRatio + "x of the defaults");
+                System.exit(1);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        if ("reactive".equals(mode)) {
+            return BenchmarkContext.startReactiveServer();
+        }
+        String profile = switch (mode) {
+            case "virtual" -> "virtual-threads";
+            case "prod" -> "prod";
+            default -> "default";
+        };
+        return BenchmarkContext.startServer(
+                "spring.profiles.active=" + profile,
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=1000");
+    }
+
+    private record Result(Histogram latency, long errors, int peakThreads, long heapBytes) {
+    }
+
+    private static Result run(URI base, int clients, int seconds, int catalogSize) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .executor(executor)
+                .build();
+        Recorder recorder = new Recorder(TimeUnit.SECONDS.toNanos(60), 3);
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch finished = new CountDownLatch(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (int i = 0; i < clients; i++) {
+            new Client(httpClient, base, catalogSize, deadline, recorder, errors, finished).next();
+        }
+        finished.await();
+        // Keep-alive connections are still open here, so this is the footprint of the whole client population
+        System.gc();
+        long heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        executor.shutdownNow();
+        return new Result(recorder.getIntervalHistogram(), errors.get(), threads.getPeakThreadCount(), heapBytes);
+    }
+
+    /**
+     * One simulated user: sends the next request as soon as the previous response arrived.
+     */
+    private record Client(HttpClient httpClient, URI base, int catalogSize, long deadline,
+                          Recorder recorder, AtomicLong errors, CountDownLatch finished) {
+
+        void next() {
+            if (System.nanoTime() - deadline > 0) {
+                finished.countDown();
+                return;
+            }
+            int i = ThreadLocalRandom.current().nextInt(catalogSize);
+            HttpRequest request = HttpRequest.newBuilder(base.resolve(
+                            "/api/movies/search?title=Movie%20" + i + "&year=" + (1950 + i % 75)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                } else {
+                    recorder.recordValue(Math.min(System.nanoTime() - start, TimeUnit.SECONDS.toNanos(60)));
+                }
+                next();
+            });
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,89 @@
+package com.real.interview.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.real.interview.entity.Movie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload size and encode/decode cost of a single Movie and of a 1,000-item Page&lt;Movie&gt;
+ * in JSON, CBOR and Smile, with mappers configured like the Spring MVC converters.
+ * The body size of each combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class MovieEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"single", "page"})
+    private String body;
+
+    /**
+     * Client side view of a page: the content, ignoring the paging metadata.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record MoviePage(List<Movie> content) {
+    }
+
+    private ObjectMapper objectMapper;
+    private Object value;
+    private Class<?> type;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+
+        if ("page".equals(body)) {
+            List<Movie> movies = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                movies.add(movie(i));
+            }
+            value = new PageImpl<>(movies, PageRequest.of(0, 1000, Sort.by("title")), 1_000_000);
+            type = MoviePage.class;
+        } else {
+            value = movie(42);
+            type = Movie.class;
+        }
+        encoded = objectMapper.writeValueAsBytes(value);
+        System.out.printf("%n%s %s: %d bytes%n", format, body, encoded.length);
+    }
+
+    private static Movie movie(int i) {
+        Movie movie = CatalogSeeder.movie(i);
+        movie.setId((long) i + 1);
+        return movie;
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return objectMapper.readValue(encoded, type);
+    }
+}
@@ -0,0 +1,87 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.dto.MovieFilter;
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * First page of 20 matches for a filter, found by the server-side Specification query
+ * vs the client-side workaround of pulling 100-movie pages and filtering them until the page is full.
+ * "broad" matches about a third of the catalog, "narrow" a few dozen movies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MovieFilterBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CLIENT_PAGE_SIZE = 100;
+
+    @Param({"broad", "narrow"})
+    private String selectivity;
+
+    @Param({"100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private MovieFilter filter;
+    private Predicate<Movie> clientFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("movie.cache.enabled=false");
+        movieService = context.getBean(MovieService.class);
+        CatalogSeeder.seed(context, catalogSize);
+
+        filter = "broad".equals(selectivity)
+                ? new MovieFilter(null, null, 5.0, null, List.of("Drama", "Comedy"), null)
+                : new MovieFilter(1990, 1995, 9.0, null, List.of("Drama"), "movie 12");
+        Set<String> genres = Set.copyOf(filter.genres());
+        clientFilter = movie -> (filter.minYear() == null || movie.getReleaseYear() >= filter.minYear())
+                && (filter.maxYear() == null || movie.getReleaseYear() <= filter.maxYear())
+                && (filter.minRating() == null || movie.getRating() >= filter.minRating())
+                && genres.contains(movie.getGenre())
+                && (filter.titlePrefix() == null || Movie.normalizeTitle(movie.getTitle()).startsWith(filter.titlePrefix()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Movie> serverSide() {
+        return movieService.filter(filter, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Movie> clientSide() {
+        List<Movie> matches = new ArrayList<>(PAGE_SIZE);
+        for (int page = 0; matches.size() < PAGE_SIZE; page++) {
+            Page<Movie> movies = movieService.findAll(PageRequest.of(page, CLIENT_PAGE_SIZE));
+            for (Movie movie : movies) {
+                if (clientFilter.test(movie) && matches.size() < PAGE_SIZE) {
+                    matches.add(movie);
+                }
+            }
+            if (movies.isLast()) {
+                break;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,95 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.dto.MovieImportStatus;
+import com.real.interview.dto.MovieIngestReport;
+import com.real.interview.service.MovieImportService;
+import com.real.interview.service.MovieIngestService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows/sec of POST /api/movies/import for a CSV and an NDJSON file with one and four validation threads,
+ * against the single-threaded POST /api/movies/batch NDJSON path on the same rows.
+ * Every invocation imports ROWS movies and waits for the job to finish.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MovieImportBenchmark {
+
+    private static final int ROWS = 50_000;
+
+    @Param({"1", "4"})
+    private int validationThreads;
+
+    private ConfigurableApplicationContext context;
+    private MovieImportService movieImportService;
+    private MovieIngestService movieIngestService;
+    private byte[] csv;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "movie.import.validation-threads=" + validationThreads,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=1000");
+        movieImportService = context.getBean(MovieImportService.class);
+        movieIngestService = context.getBean(MovieIngestService.class);
+
+        StringBuilder csvRows = new StringBuilder("id,title,genre,releaseYear,rating\n");
+        StringBuilder ndjsonRows = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            String genre = CatalogSeeder.GENRES[i % CatalogSeeder.GENRES.length];
+            int year = 1950 + i % 75;
+            double rating = (i % 100) / 10.0;
+            csvRows.append(",\"Movie ").append(i).append(", the sequel\",").append(genre).append(',')
+                    .append(year).append(',').append(rating).append('\n');
+            ndjsonRows.append("{\"title\":\"Movie ").append(i).append(", the sequel\",\"genre\":\"").append(genre)
+                    .append("\",\"releaseYear\":").append(year).append(",\"rating\":").append(rating).append("}\n");
+        }
+        csv = csvRows.toString().getBytes(StandardCharsets.UTF_8);
+        ndjson = ndjsonRows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public MovieImportStatus importCsv() throws Exception {
+        return await(movieImportService.start(new MockMultipartFile("file", "movies.csv", "text/csv", csv)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public MovieImportStatus importNdjson() throws Exception {
+        return await(movieImportService.start(new MockMultipartFile("file", "movies.ndjson", "application/x-ndjson", ndjson)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public MovieIngestReport batchNdjson() throws IOException {
+        return movieIngestService.ingestNdjson(new ByteArrayInputStream(ndjson));
+    }
+
+    private MovieImportStatus await(MovieImportStatus started) throws InterruptedException {
+        while (true) {
+            MovieImportStatus status = movieImportService.getStatus(started.id()).orElseThrow();
+            if (status.finishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(1);
+        }
+    }
+}
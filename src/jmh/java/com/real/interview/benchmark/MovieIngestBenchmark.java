@@ -0,0 +1,75 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.dto.MovieIngestReport;
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieIngestService;
+import com.real.interview.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows/sec of the single-insert path (one MovieService.save per movie) against the batched ingest path.
+ * Both benchmarks write ROWS movies per invocation, so the reported score is rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MovieIngestBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"100", "500"})
+    private int chunkSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private MovieIngestService movieIngestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "movie.ingest.chunk-size=" + chunkSize,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + chunkSize);
+        movieService = context.getBean(MovieService.class);
+        movieIngestService = context.getBean(MovieIngestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void singleInsert() {
+        for (Movie movie : movies()) {
+            movieService.save(movie);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public MovieIngestReport batchIngest() {
+        return movieIngestService.ingest(movies());
+    }
+
+    private static List<Movie> movies() {
+        List<Movie> movies = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setGenre("Drama");
+            movie.setReleaseYear(1950 + i % 75);
+            movie.setRating((i % 100) / 10.0);
+            movies.add(movie);
+        }
+        return movies;
+    }
+}
@@ -0,0 +1,56 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution (including p99) of MovieService.findById under a Zipfian access pattern,
+ * with the lookup cache disabled, on Caffeine W-TinyLFU and on the LRU implementation.
+ * The cache holds a tenth of the catalog so the eviction policy matters; the Hibernate second-level
+ * cache is off so misses reach the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+public class MovieLookupBenchmark {
+
+    @Param({"none", "tinylfu", "lru"})
+    private String cache;
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private ZipfianIds ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "movie.cache.enabled=" + !"none".equals(cache),
+                "movie.cache.eviction=" + ("none".equals(cache) ? "tinylfu" : cache),
+                "movie.cache.maximum-size=" + catalogSize / 10,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        movieService = context.getBean(MovieService.class);
+
+        ids = new ZipfianIds(CatalogSeeder.seed(context, catalogSize), 1.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Movie findById() {
+        return movieService.findById(ids.next());
+    }
+}
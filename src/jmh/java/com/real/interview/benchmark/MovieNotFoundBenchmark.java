@@ -0,0 +1,56 @@
+package com.real.interview.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * GET /api/movies/{id} for ids that exist (served from the lookup cache) and ids that do not (404),
+ * dispatched in-process through the full MVC stack so no socket or client code is measured.
+ * Run with {@code -prof gc} and compare gc.alloc.rate.norm, the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MovieNotFoundBenchmark {
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startServer();
+        ids = CatalogSeeder.seed(context, catalogSize);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult hit() throws Exception {
+        return mockMvc.perform(get("/api/movies/{movieId}", ids[ThreadLocalRandom.current().nextInt(ids.length)])).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult miss() throws Exception {
+        return mockMvc.perform(get("/api/movies/{movieId}", -1 - ThreadLocalRandom.current().nextInt(1_000_000))).andReturn();
+    }
+}
@@ -0,0 +1,61 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.dto.CursorPage;
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of fetching page N with OFFSET paging (Page + count query) against keyset paging (?after= cursor).
+ * Keyset cost should stay flat between page 1 and page 10,000; offset cost grows with depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MoviePaginationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CATALOG_SIZE = 250_000;
+
+    @Param({"0", "10000"})
+    private int pageNumber;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("movie.cache.enabled=false");
+        movieService = context.getBean(MovieService.class);
+        long[] ids = CatalogSeeder.seed(context, CATALOG_SIZE);
+        long lastIdBeforePage = pageNumber == 0 ? 0 : ids[pageNumber * PAGE_SIZE - 1];
+        cursor = lastIdBeforePage == 0 ? "" : Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + lastIdBeforePage).getBytes());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Movie> offsetPage() {
+        return movieService.findAll(PageRequest.of(pageNumber, PAGE_SIZE, Sort.by("id")));
+    }
+
+    @Benchmark
+    public CursorPage<Movie> keysetPage() {
+        return movieService.findAfter(cursor, PAGE_SIZE);
+    }
+}
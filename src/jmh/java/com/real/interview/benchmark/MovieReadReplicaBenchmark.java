@@ -0,0 +1,114 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.replica.MovieReadReplica;
+import com.real.interview.repository.MovieRepository;
+import com.real.interview.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MovieService read latency served by H2 (replica off) and by the in-memory columnar replica (on).
+ * The Spring lookup cache and the Hibernate caches are disabled, so "off" measures the JDBC and hydration path.
+ * With the replica on, setup prints its estimated bytes per movie next to the measured heap growth of
+ * holding the same catalog as loaded Movie entities.
+ * <p>
+ * The {@code sortedPageUnderWrites} group reads sorted pages on three threads while a fourth patches ratings,
+ * so every read follows a write that changed the sorted columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(4)
+public class MovieReadReplicaBenchmark {
+
+    private static final Sort[] SORTS = {
+            Sort.by("title"), Sort.by(Sort.Direction.DESC, "rating"), Sort.by("releaseYear").and(Sort.by("genre"))
+    };
+
+    @Param({"off", "on"})
+    private String replica;
+
+    @Param({"100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private ZipfianIds ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "movie.replica.enabled=" + "on".equals(replica),
+                "movie.cache.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        movieService = context.getBean(MovieService.class);
+        ids = new ZipfianIds(CatalogSeeder.seed(context, catalogSize), 1.0);
+
+        if ("on".equals(replica)) {
+            MovieReadReplica movieReadReplica = context.getBean(MovieReadReplica.class);
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long before = runtime.totalMemory() - runtime.freeMemory();
+            List<Movie> entities = context.getBean(MovieRepository.class).findAll();
+            System.gc();
+            long after = runtime.totalMemory() - runtime.freeMemory();
+            System.out.printf("%n%d movies: replica ~%d bytes/movie, Movie entities ~%d bytes/movie%n",
+                    movieReadReplica.size(), movieReadReplica.estimatedBytes() / movieReadReplica.size(),
+                    (after - before) / entities.size());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Movie findById() {
+        return movieService.findById(ids.next());
+    }
+
+    @Benchmark
+    public List<Movie> findByReleaseYear() {
+        return movieService.findByReleaseYear(1950 + ThreadLocalRandom.current().nextInt(75));
+    }
+
+    @Benchmark
+    public List<Movie> findByGenre() {
+        return movieService.findByGenre(CatalogSeeder.GENRES[ThreadLocalRandom.current().nextInt(CatalogSeeder.GENRES.length)]);
+    }
+
+    @Benchmark
+    public Page<Movie> sortedPage() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return movieService.findAll(PageRequest.of(random.nextInt(100), 20, SORTS[random.nextInt(SORTS.length)]));
+    }
+
+    @Benchmark
+    @Group("sortedPageUnderWrites")
+    @GroupThreads(3)
+    public Page<Movie> sortedPageReader() {
+        return sortedPage();
+    }
+
+    @Benchmark
+    @Group("sortedPageUnderWrites")
+    @GroupThreads(1)
+    public boolean ratingWriter() {
+        Movie changes = new Movie();
+        changes.setRating(Math.round(ThreadLocalRandom.current().nextDouble(1, 10) * 10) / 10.0);
+        return movieService.patchMovieById(ids.next(), changes);
+    }
+}
@@ -0,0 +1,83 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression benchmarks for the MovieService hot paths against a seeded H2 catalog.
+ * The lookup cache and the Hibernate second-level cache are disabled so every call reaches the database; run a single size with
+ * -p catalogSize=10000 for a quick check, the 1M catalog takes a while to seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MovieServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "movie.cache.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        movieService = context.getBean(MovieService.class);
+        ids = CatalogSeeder.seed(context, catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(catalogSize);
+    }
+
+    @Benchmark
+    public Movie findById() {
+        return movieService.findById(ids[randomIndex()]);
+    }
+
+    @Benchmark
+    public Page<Movie> findAllPageable() {
+        int page = ThreadLocalRandom.current().nextInt(Math.min(100, catalogSize / 20));
+        return movieService.findAll(PageRequest.of(page, 20, Sort.by("title")));
+    }
+
+    @Benchmark
+    public List<Movie> findByTitleAndReleaseYear() {
+        int i = randomIndex();
+        return movieService.findByTitleAndReleaseYear("Movie " + i, 1950 + i % 75);
+    }
+
+    @Benchmark
+    public Movie save() {
+        return movieService.save(CatalogSeeder.movie(randomIndex()));
+    }
+
+    @Benchmark
+    public Movie updateMovieById() {
+        int i = randomIndex();
+        Movie changes = CatalogSeeder.movie(i);
+        changes.setRating(ThreadLocalRandom.current().nextInt(100) / 10.0);
+        return movieService.updateMovieById(ids[i], changes);
+    }
+}
@@ -0,0 +1,68 @@
+package com.real.interview.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.real.interview.dto.SlimPage;
+import com.real.interview.entity.Movie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization cost of the Page&lt;Movie&gt; body returned by GET /api/movies ("entity"),
+ * against the slim ?fields=id,title envelope ("fields"), using an ObjectMapper configured like Spring MVC's.
+ * The body size of each shape is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    @Param({"entity", "fields"})
+    private String shape;
+
+    private ObjectMapper objectMapper;
+    private Object body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Movie> movies = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Movie movie = CatalogSeeder.movie(i);
+            movie.setId((long) i + 1);
+            movies.add(movie);
+        }
+        Page<Movie> page = new PageImpl<>(movies, PageRequest.of(0, pageSize, Sort.by("title")), 1_000_000);
+        body = "fields".equals(shape) ? SlimPage.of(page.map(PageSerializationBenchmark::idAndTitle)) : page;
+
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        System.out.printf("%n%s page of %d: %d bytes (%.1f per movie)%n", shape, pageSize, bytes.length, bytes.length / (double) pageSize);
+    }
+
+    private static Map<String, Object> idAndTitle(Movie movie) {
+        Map<String, Object> row = new LinkedHashMap<>(4);
+        row.put("id", movie.getId());
+        row.put("title", movie.getTitle());
+        return row;
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,69 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieRatingBuffer;
+import com.real.interview.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained rating update throughput: a full PUT through updateMovieById ("put") against the
+ * write-behind buffer ("buffered"), with the background flush running every 100ms.
+ * Ids follow a Zipfian distribution, like a rating feed dominated by trending titles;
+ * the buffered path includes the flush, since writers flush themselves once max-pending is reached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+public class RatingUpdateBenchmark {
+
+    @Param({"put", "buffered"})
+    private String path;
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private MovieRatingBuffer movieRatingBuffer;
+    private ZipfianIds zipfianIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "movie.rating.flush-interval=100ms",
+                "movie.rating.max-pending=" + catalogSize / 10);
+        movieService = context.getBean(MovieService.class);
+        movieRatingBuffer = context.getBean(MovieRatingBuffer.class);
+        zipfianIds = new ZipfianIds(CatalogSeeder.seed(context, catalogSize), 1.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        movieRatingBuffer.flush();
+        context.close();
+    }
+
+    private static double randomRating() {
+        return ThreadLocalRandom.current().nextInt(101) / 10.0;
+    }
+
+    @Benchmark
+    public void updateRating() {
+        long id = zipfianIds.next();
+        if ("buffered".equals(path)) {
+            movieService.updateRating(id, randomRating());
+            return;
+        }
+        Movie movie = CatalogSeeder.movie((int) (id % catalogSize));
+        movie.setRating(randomRating());
+        movieService.updateMovieById(id, movie);
+    }
+}
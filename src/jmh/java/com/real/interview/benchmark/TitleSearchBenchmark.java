@@ -0,0 +1,77 @@
+package com.real.interview.benchmark;
+
+import com.real.interview.dto.TitleSearchHit;
+import com.real.interview.search.TitleSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of the in-memory title index for autocomplete-style queries.
+ * The index is filled directly (no database) with synthetic multi-word titles;
+ * its estimated footprint and the measured heap growth are printed during setup.
+ * Run with -p titles=5000000 and a large heap (-jvmArgs -Xmx8g) for the full-size catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TitleSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "the", "last", "night", "dark", "star", "love", "war", "king", "city", "dream",
+            "shadow", "river", "ghost", "house", "storm", "blood", "silent", "golden", "iron", "lost",
+            "return", "rise", "fall", "secret", "empire", "heart", "fire", "ice", "wild", "road",
+            "island", "moon", "sun", "winter", "summer", "midnight", "broken", "hidden", "final", "black"
+    };
+
+    private static final String[] QUERIES = {"the", "godf", "dark night", "ghost", "st", "mid", "empire of", "q"};
+
+    @Param({"1000000"})
+    private int titles;
+
+    private TitleSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        index = new TitleSearchIndex();
+        Random random = new Random(42);
+        for (int id = 1; id <= titles; id++) {
+            StringBuilder title = new StringBuilder();
+            int words = 2 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    title.append(' ');
+                }
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            }
+            title.append(' ').append(id);
+            index.add(id, title.toString());
+        }
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n%d titles: estimated %d MB (%d bytes/title), measured heap growth %d MB%n",
+                titles, index.estimatedBytes() >> 20, index.estimatedBytes() / titles, (after - before) >> 20);
+    }
+
+    @Benchmark
+    public List<TitleSearchHit> search() {
+        return index.search(QUERIES[ThreadLocalRandom.current().nextInt(QUERIES.length)], 10);
+    }
+
+    @Benchmark
+    public List<TitleSearchHit> selectiveSearch() {
+        return index.search("golden moon " + (1 + ThreadLocalRandom.current().nextInt(titles)), 10);
+    }
+}
@@ -0,0 +1,34 @@
+package com.real.interview.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples ids with a Zipfian distribution, so a small set of "trending" titles receives most of the lookups.
+ */
+final class ZipfianIds {
+
+    private final long[] ids;
+    private final double[] cumulative;
+
+    ZipfianIds(long[] ids, double exponent) {
+        this.ids = ids;
+        this.cumulative = new double[ids.length];
+        double sum = 0;
+        for (int rank = 0; rank < ids.length; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < ids.length; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    long next() {
+        int rank = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return ids[Math.min(rank, ids.length - 1)];
+    }
+}
@@ -0,0 +1,162 @@
+package com.real.interview.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size and TTL bounded least-recently-used cache.
+ * Backed by an access-ordered LinkedHashMap guarded by the cache monitor; good enough for a single hot
+ * region, while the Caffeine (W-TinyLFU) manager remains the default for skewed workloads.
+ * <p>
+ * {@link #get(Object, Callable)} does not cache what it loaded if the cache was evicted or cleared in the meantime,
+ * so a write that evicts while a lookup is reading the old row cannot be undone by that lookup.
+ */
+public class LruCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final long maximumSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entry> store;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Counts evict and clear calls, guarded by store; a load that overlapped one may have read replaced data
+    private long invalidations;
+
+    public LruCache(String name, long maximumSize, Duration ttl) {
+        super(false);
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.store = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > LruCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        synchronized (store) {
+            Entry entry = store.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() > 0) {
+                store.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+        long invalidationsBeforeLoad;
+        synchronized (store) {
+            invalidationsBeforeLoad = invalidations;
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value == null) {
+            return null;
+        }
+        synchronized (store) {
+            if (invalidations != invalidationsBeforeLoad) {
+                return value;
+            }
+            store.put(key, new Entry(toStoreValue(value), System.nanoTime() + ttlNanos));
+        }
+        puts.increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        synchronized (store) {
+            store.put(key, new Entry(toStoreValue(value), System.nanoTime() + ttlNanos));
+        }
+        puts.increment();
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (store) {
+            invalidations++;
+            store.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (store) {
+            invalidations++;
+            store.clear();
+        }
+    }
+
+    public long size() {
+        synchronized (store) {
+            return store.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,31 @@
+package com.real.interview.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CacheManager with a fixed set of {@link LruCache} regions, all created eagerly
+ * so that actuator cache metrics are registered at startup.
+ */
+public class LruCacheManager extends AbstractCacheManager {
+
+    private final List<String> cacheNames;
+    private final long maximumSize;
+    private final Duration ttl;
+
+    public LruCacheManager(long maximumSize, Duration ttl, String... cacheNames) {
+        this.cacheNames = Arrays.asList(cacheNames);
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return cacheNames.stream().map(name -> new LruCache(name, maximumSize, ttl)).toList();
+    }
+}
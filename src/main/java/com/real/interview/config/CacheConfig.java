@@ -0,0 +1,57 @@
+package com.real.interview.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.real.interview.cache.LruCache;
+import com.real.interview.cache.LruCacheManager;
+import com.real.interview.cache.LruCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process cache in front of MovieService lookups.
+ * movie.cache.eviction selects the policy: "tinylfu" (Caffeine, the default) or "lru".
+ * Hit/miss/eviction counts are published as cache.* meters on /actuator/metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MOVIES_CACHE = "movies";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${movie.cache.enabled:true}") boolean enabled,
+            @Value("${movie.cache.eviction:tinylfu}") String eviction,
+            @Value("${movie.cache.maximum-size:10000}") long maximumSize,
+            @Value("${movie.cache.ttl:10m}") Duration ttl) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+        if ("lru".equalsIgnoreCase(eviction)) {
+            return new LruCacheManager(maximumSize, ttl, MOVIES_CACHE);
+        }
+        if (!"tinylfu".equalsIgnoreCase(eviction)) {
+            throw new IllegalArgumentException("Unsupported movie.cache.eviction: " + eviction);
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(MOVIES_CACHE);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        return cacheManager;
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<LruCache> lruCacheMeterBinderProvider() {
+        return LruCacheMetrics::new;
+    }
+}
@@ -0,0 +1,64 @@
+package com.real.interview.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * JCache (Caffeine) regions behind the Hibernate second-level and query caches.
+ * The regions are created here from movie.l2cache.* properties and the cache manager is handed to Hibernate,
+ * so sizes and TTLs live in application.properties. With movie.l2cache.statistics.enabled=true Hibernate
+ * collects statistics and the region hit, miss and put counts are published as hibernate.* meters.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String MOVIE_REGION = "movie";
+    public static final String MOVIE_QUERY_REGION = "movie-queries";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${movie.l2cache.entity.maximum-size:100000}") long entityMaximumSize,
+            @Value("${movie.l2cache.entity.ttl:30m}") Duration entityTtl,
+            @Value("${movie.l2cache.query.maximum-size:10000}") long queryMaximumSize,
+            @Value("${movie.l2cache.query.ttl:10m}") Duration queryTtl) {
+        // A provider of our own rather than Caching.getCachingProvider(): that one hands every
+        // application context in the JVM the same cache manager
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(MOVIE_REGION, region(entityMaximumSize, entityTtl));
+        cacheManager.createCache(MOVIE_QUERY_REGION, region(queryMaximumSize, queryTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaximumSize, queryTtl));
+        // Update timestamps are what invalidate cached query results, so they must never be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStatisticsEnabled(true));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager,
+            @Value("${movie.l2cache.statistics.enabled:false}") boolean statisticsEnabled) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            if (statisticsEnabled) {
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                .setStatisticsEnabled(true);
+    }
+}
@@ -0,0 +1,55 @@
+package com.real.interview.config;
+
+import com.real.interview.metrics.SqlMetricsFilter;
+import com.real.interview.metrics.SqlMetricsListener;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Endpoint latency and SQL instrumentation, exposed on /actuator/metrics and /actuator/prometheus.
+ * <ul>
+ *     <li>{@code @Timed} controller methods publish percentile histograms through the TimedAspect</li>
+ *     <li>the DataSource is wrapped with datasource-proxy so every JDBC execution is counted and timed</li>
+ *     <li>{@link SqlMetricsFilter} turns those counts into per-endpoint statements-per-request metrics</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlMetricsListener(meterRegistry))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlMetricsFilter> sqlMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlMetricsFilter> registration = new FilterRegistrationBean<>(new SqlMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
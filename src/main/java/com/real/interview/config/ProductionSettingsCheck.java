@@ -0,0 +1,74 @@
+package com.real.interview.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Companion of application-prod.properties.
+ * Warns at startup about development settings that are still active in production,
+ * e.g. when a command line or environment override brings SQL logging back.
+ */
+@Configuration
+@Profile("prod")
+public class ProductionSettingsCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductionSettingsCheck.class);
+
+    private static final Set<String> SCHEMA_GENERATING_DDL_AUTO = Set.of("create", "create-drop", "update");
+
+    @Autowired
+    private Environment environment;
+
+    @PostConstruct
+    void checkSettings() {
+        List<String> devSettings = findDevSettings(environment,
+                ClassUtils.isPresent("org.springframework.boot.devtools.restart.Restarter", getClass().getClassLoader()));
+        if (devSettings.isEmpty()) {
+            logger.info("prod profile: no development settings found");
+        }
+        for (String devSetting : devSettings) {
+            logger.warn("prod profile is active with a development setting: {}", devSetting);
+        }
+    }
+
+    static List<String> findDevSettings(Environment environment, boolean devtoolsPresent) {
+        List<String> devSettings = new ArrayList<>();
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            devSettings.add("spring.jpa.show-sql=true writes every statement to stdout");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false)) {
+            devSettings.add("hibernate.format_sql=true pretty-prints logged SQL");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.generate_statistics", Boolean.class, false)) {
+            devSettings.add("hibernate.generate_statistics=true counts every session, query and cache access");
+        }
+        if (environment.getProperty("spring.h2.console.enabled", Boolean.class, false)) {
+            devSettings.add("spring.h2.console.enabled=true exposes the database console");
+        }
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            devSettings.add("spring.jpa.open-in-view is not false, connections are held until the response is written");
+        }
+        if (environment.getProperty("spring.datasource.hikari.leak-detection-threshold", Long.class, 0L) == 0) {
+            devSettings.add("spring.datasource.hikari.leak-detection-threshold is not set");
+        }
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "");
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (SCHEMA_GENERATING_DDL_AUTO.contains(ddlAuto) && !url.startsWith("jdbc:h2:mem:")) {
+            devSettings.add("spring.jpa.hibernate.ddl-auto=" + ddlAuto + " changes the schema of " + url);
+        }
+        if (devtoolsPresent) {
+            devSettings.add("spring-boot-devtools is on the classpath");
+        }
+        return devSettings;
+    }
+}
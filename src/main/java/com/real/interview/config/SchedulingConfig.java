@@ -0,0 +1,12 @@
+package com.real.interview.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs, e.g. the periodic reconciliation of MovieStatsCounters.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,32 @@
+package com.real.interview.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Companion of application-virtual-threads.properties.
+ * The project still compiles for Java 17, so the mode is a runtime switch: this only reports
+ * when the profile is active on a JVM that cannot provide virtual threads.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    @PostConstruct
+    void checkRuntime() {
+        int version = Runtime.version().feature();
+        if (version < MIN_JAVA_VERSION) {
+            logger.warn("virtual-threads profile is active but Java {} has no virtual threads; "
+                    + "requests keep running on the platform thread pool", version);
+        } else {
+            logger.info("Serving requests and async work on virtual threads");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.real.interview.controller;
+
+import com.real.interview.dto.MovieIngestReport;
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieIngestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Bulk ingest endpoint for catalog loads.
+ * Accepts either a JSON array or an NDJSON stream (one movie per line) and returns one result per item.
+ * Responds 201 when every item was created and 207 Multi-Status when at least one item failed.
+ */
+@RestController
+@RequestMapping("/api/movies/batch")
+public class MovieBatchController {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    @Autowired
+    private MovieIngestService movieIngestService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MovieIngestReport> createMovies(@RequestBody List<Movie> movies) {
+        return toResponse(movieIngestService.ingest(movies));
+    }
+
+    @PostMapping(consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<MovieIngestReport> createMoviesFromStream(InputStream body) throws IOException {
+        return toResponse(movieIngestService.ingestNdjson(body));
+    }
+
+    private ResponseEntity<MovieIngestReport> toResponse(MovieIngestReport report) {
+        HttpStatus status = report.hasFailures() ? HttpStatus.MULTI_STATUS : HttpStatus.CREATED;
+        return new ResponseEntity<>(report, status);
+    }
+}
@@ -0,0 +1,37 @@
+package com.real.interview.controller;
+
+import com.real.interview.dto.MovieChangeFeed;
+import com.real.interview.service.MovieChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+/**
+ * Change feed for incremental sync, in place of re-reading the paged catalog.
+ * Start with ?since=0 and pass the returned next value back as since; when nothing has changed the request
+ * is held open for up to wait seconds (long poll), e.g. /api/movies/changes?since=1042&wait=30
+ */
+@RestController
+@RequestMapping("/api/movies/changes")
+public class MovieChangeController {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final int MAX_WAIT_SECONDS = 60;
+
+    @Autowired
+    private MovieChangeFeedService movieChangeFeedService;
+
+    @GetMapping()
+    public DeferredResult<MovieChangeFeed> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                      @RequestParam(defaultValue = "100") int limit,
+                                                      @RequestParam(defaultValue = "30") int wait) {
+        return movieChangeFeedService.poll(Math.max(0, since),
+                Math.max(1, Math.min(limit, MAX_LIMIT)),
+                Duration.ofSeconds(Math.max(0, Math.min(wait, MAX_WAIT_SECONDS))));
+    }
+}
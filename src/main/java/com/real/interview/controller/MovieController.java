@@ -1,26 +1,42 @@
 package com.real.interview.controller;
 
 
+import com.real.interview.dto.CursorPage;
+import com.real.interview.dto.MovieFilter;
+import com.real.interview.dto.MovieVersion;
+import com.real.interview.dto.RatingUpdate;
+import com.real.interview.dto.SlimPage;
 import com.real.interview.entity.Movie;
 import com.real.interview.service.MovieService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/movies")
 public class MovieController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    // Latency histogram per endpoint, tagged with the operation
+    private static final String API_TIMER = "movie.api.requests";
+
     @Autowired
     private MovieService movieService;
 
     @PostMapping()
+    @Timed(value = API_TIMER, extraTags = {"operation", "create"}, histogram = true)
     public ResponseEntity<Movie> createMovie(@RequestBody Movie movie) {
         Movie newMovie = movieService.save(movie);
         return new ResponseEntity<>(newMovie, HttpStatus.CREATED);
@@ -32,28 +48,100 @@ public class MovieController {
      * Retrieves all movies with pagination and sorting support.
      * The Pageable object is automatically created by Spring from request params:
      * e.g., /api/movies?page=0&size=10&sort=title,asc
+     * The ETag is derived from the ids and versions on the page, so If-None-Match skips serialization and transfer.
      */
     @GetMapping()
+    @Timed(value = API_TIMER, extraTags = {"operation", "list"}, histogram = true)
     public ResponseEntity<Page<Movie>> getAllMovie(Pageable pageable) {
         Page<Movie> moviesPage = movieService.findAll(pageable);
-        return new ResponseEntity<>(moviesPage, HttpStatus.OK);
+        return new ResponseEntity<>(moviesPage, pageHeaders(moviesPage), HttpStatus.OK);
     }
 
+    /**
+     * Paged listing of selected fields in a slim envelope, for consumers that only need a few columns:
+     * e.g., /api/movies?fields=id,title&page=0&size=100&sort=title
+     * Only the requested columns are read from the database.
+     */
+    @GetMapping(params = {"fields", "!after"})
+    @Timed(value = API_TIMER, extraTags = {"operation", "list-fields"}, histogram = true)
+    public ResponseEntity<SlimPage<Map<String, Object>>> getAllMovieFields(@RequestParam String fields, Pageable pageable) {
+        return new ResponseEntity<>(SlimPage.of(movieService.findAll(fields, pageable)), HttpStatus.OK);
+    }
+
+    /**
+     * Cursor-based alternative to the paged listing, ordered by id.
+     * Every page costs the same regardless of depth and no count query is run:
+     * e.g., /api/movies?after=&size=50, then /api/movies?after={nextCursor}&size=50
+     */
+    @GetMapping(params = "after")
+    @Timed(value = API_TIMER, extraTags = {"operation", "scroll"}, histogram = true)
+    public ResponseEntity<CursorPage<Movie>> getMoviesAfter(@RequestParam String after,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return new ResponseEntity<>(movieService.findAfter(after, pageSize), HttpStatus.OK);
+    }
 
     @GetMapping("/{movieId}")
-    public ResponseEntity<Movie> getMovieForId(@PathVariable Long movieId) {
+    @Timed(value = API_TIMER, extraTags = {"operation", "get"}, histogram = true)
+    public ResponseEntity<Movie> getMovieForId(@PathVariable Long movieId, WebRequest webRequest) {
+        // Conditional requests are answered from the version projection, without loading the movie.
+        // A buffered rating is not reflected in the stored version yet, so such a movie gets no validators at all:
+        // Spring would otherwise answer 304 for the stored version and hide the new rating.
+        boolean pending = movieService.hasPendingChanges(movieId);
+        if ((webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null)
+                && !pending) {
+            MovieVersion version = movieService.findVersionById(movieId);
+            boolean notModified = version.lastModified() == null
+                    ? webRequest.checkNotModified(version.eTag())
+                    : webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli());
+            if (notModified) {
+                return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+            }
+        }
         Movie movie = movieService.findById(movieId);
-        return new ResponseEntity<>(movie, HttpStatus.OK);
+        return new ResponseEntity<>(movie, pending ? new HttpHeaders() : versionHeaders(movie), HttpStatus.OK);
     }
 
     @PutMapping("/{movieId}")
-    public ResponseEntity<Movie> updateMovie(@PathVariable Long movieId,@RequestBody Movie movie)
+    @Timed(value = API_TIMER, extraTags = {"operation", "update"}, histogram = true)
+    public ResponseEntity<Movie> updateMovie(@PathVariable Long movieId,@RequestBody Movie movie,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
-        Movie updatedMovie=movieService.updateMovieById(movieId,movie);
-        return new ResponseEntity<>(movie,HttpStatus.OK);
+        Long expectedVersion=expectedVersion(movieId,ifMatch);
+        Movie updatedMovie=movieService.updateMovieById(movieId,movie,expectedVersion);
+        return new ResponseEntity<>(movie,versionHeaders(updatedMovie),HttpStatus.OK);
+    }
+
+    /**
+     * Updates only the fields present in the body, e.g. {"rating": 8.1}.
+     * Null or missing fields are left unchanged.
+     */
+    @PatchMapping("/{movieId}")
+    @Timed(value = API_TIMER, extraTags = {"operation", "patch"}, histogram = true)
+    public ResponseEntity<Void> patchMovie(@PathVariable Long movieId, @RequestBody Movie changes,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = expectedVersion(movieId, ifMatch);
+        boolean isPatched = movieService.patchMovieById(movieId, changes, expectedVersion);
+        if (isPatched) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Rating-only update for high-volume rating feeds, e.g. {"rating": 8.1}.
+     * The rating is buffered and written asynchronously in batches, hence 202 Accepted;
+     * reads return the new rating immediately.
+     */
+    @PutMapping("/{movieId}/rating")
+    @Timed(value = API_TIMER, extraTags = {"operation", "rating"}, histogram = true)
+    public ResponseEntity<Void> updateRating(@PathVariable Long movieId, @RequestBody RatingUpdate ratingUpdate) {
+        movieService.updateRating(movieId, ratingUpdate.rating());
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
     }
 
     @DeleteMapping("/{movieId}")
+    @Timed(value = API_TIMER, extraTags = {"operation", "delete"}, histogram = true)
     public ResponseEntity<Void> deleteMovie(@PathVariable Long movieId) {
         boolean isDeleted = movieService.deleteById(movieId);
         if (isDeleted) {
@@ -63,6 +151,7 @@ public class MovieController {
     }
 
     @GetMapping("/search")
+    @Timed(value = API_TIMER, extraTags = {"operation", "search"}, histogram = true)
     public ResponseEntity<List<Movie>> searchMovie(
             @RequestParam String title,
             @RequestParam Integer year
@@ -72,4 +161,74 @@ public class MovieController {
         return ResponseEntity.of(Optional.ofNullable(movies));
     }
 
+    /**
+     * Multi-criteria search with paging and sorting; all criteria are optional and combined with AND:
+     * e.g., /api/movies/filter?minYear=1990&maxYear=1999&minRating=8&genre=Crime&genre=Drama&title=the&sort=rating,desc
+     * Ranges are inclusive, title is a case-insensitive prefix.
+     */
+    @GetMapping("/filter")
+    @Timed(value = API_TIMER, extraTags = {"operation", "filter"}, histogram = true)
+    public ResponseEntity<Page<Movie>> filterMovies(
+            @RequestParam(required = false) Integer minYear,
+            @RequestParam(required = false) Integer maxYear,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Double maxRating,
+            @RequestParam(name = "genre", required = false) List<String> genres,
+            @RequestParam(name = "title", required = false) String titlePrefix,
+            Pageable pageable
+    ) {
+        MovieFilter filter = new MovieFilter(minYear, maxYear, minRating, maxRating, genres, titlePrefix);
+        return new ResponseEntity<>(movieService.filter(filter, pageable), HttpStatus.OK);
+    }
+
+    /**
+     * Search returning only the requested fields, e.g. /api/movies/search?title=Heat&year=1995&fields=id,title
+     */
+    @GetMapping(value = "/search", params = "fields")
+    @Timed(value = API_TIMER, extraTags = {"operation", "search-fields"}, histogram = true)
+    public ResponseEntity<List<Map<String, Object>>> searchMovieFields(
+            @RequestParam String title,
+            @RequestParam Integer year,
+            @RequestParam String fields
+    ) {
+        return new ResponseEntity<>(movieService.findByTitleAndReleaseYear(fields, title, year), HttpStatus.OK);
+    }
+
+    private Long expectedVersion(Long movieId, String ifMatch) {
+        return MovieVersion.expectedVersion(MovieVersion.parseIfMatch(ifMatch), () -> movieService.findVersionById(movieId).version());
+    }
+
+    /**
+     * ETag and Last-Modified of a movie, when its version is known.
+     */
+    private static HttpHeaders versionHeaders(Movie movie) {
+        HttpHeaders headers = new HttpHeaders();
+        if (movie != null && movie.getVersion() != null) {
+            headers.setETag(MovieVersion.eTag(movie.getVersion()));
+        }
+        if (movie != null && movie.getLastModified() != null) {
+            headers.setLastModified(movie.getLastModified());
+        }
+        return headers;
+    }
+
+    private static HttpHeaders pageHeaders(Page<Movie> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page == null) {
+            return headers;
+        }
+        long hash = 31L * page.getTotalElements() + page.getNumber();
+        hash = 31 * hash + page.getSize();
+        hash = 31 * hash + page.getSort().hashCode();
+        for (Movie movie : page.getContent()) {
+            hash = 31 * hash + (movie.getId() == null ? 0 : movie.getId());
+            hash = 31 * hash + (movie.getVersion() == null ? 0 : movie.getVersion());
+            // A buffered rating is overlaid on the page without changing the version
+            hash = 31 * hash + Objects.hashCode(movie.getRating());
+        }
+        // Weak: the page is only compared for If-None-Match, and Tomcat does not gzip responses with a strong ETag
+        headers.setETag("W/\"" + Long.toHexString(hash) + "\"");
+        return headers;
+    }
+
 }
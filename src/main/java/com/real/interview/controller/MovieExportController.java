@@ -0,0 +1,41 @@
+package com.real.interview.controller;
+
+import com.real.interview.service.MovieExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Full-catalog export for sync jobs.
+ * The body is written on an async thread while rows are read from the database,
+ * e.g. /api/movies/export or /api/movies/export?format=csv
+ */
+@RestController
+@RequestMapping("/api/movies/export")
+public class MovieExportController {
+
+    @Autowired
+    private MovieExportService movieExportService;
+
+    @GetMapping()
+    public ResponseEntity<StreamingResponseBody> exportMovies(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies.csv\"")
+                    .body(movieExportService::exportCsv);
+        }
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MovieBatchController.APPLICATION_NDJSON_VALUE))
+                .body(movieExportService::exportNdjson);
+    }
+}
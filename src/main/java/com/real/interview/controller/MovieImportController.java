@@ -0,0 +1,47 @@
+package com.real.interview.controller;
+
+import com.real.interview.dto.MovieImportStatus;
+import com.real.interview.service.MovieImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Bulk import of catalog files too large for POST /api/movies/batch.
+ * Upload a .csv (header row with title, genre, releaseYear, rating) or .ndjson file as the multipart part "file";
+ * the import runs in the background and responds 202 with a Location to poll for progress.
+ */
+@RestController
+@RequestMapping("/api/movies/import")
+public class MovieImportController {
+
+    @Autowired
+    private MovieImportService movieImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MovieImportStatus> importMovies(@RequestParam("file") MultipartFile file) throws IOException {
+        MovieImportStatus status = movieImportService.start(file);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create("/api/movies/import/" + status.id()));
+        return new ResponseEntity<>(status, headers, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<MovieImportStatus> getImport(@PathVariable String id) {
+        return movieImportService.getStatus(id)
+                .map(status -> new ResponseEntity<>(status, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,34 @@
+package com.real.interview.controller;
+
+import com.real.interview.dto.TitleSearchHit;
+import com.real.interview.search.TitleSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Autocomplete-style title search served from the in-memory index instead of LIKE '%q%':
+ * e.g., /api/movies/search/title?q=godf&limit=10
+ */
+@RestController
+@RequestMapping("/api/movies/search")
+public class MovieSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private TitleSearchIndex titleSearchIndex;
+
+    @GetMapping("/title")
+    public ResponseEntity<List<TitleSearchHit>> searchTitle(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        List<TitleSearchHit> hits = titleSearchIndex.search(q, Math.min(limit, MAX_LIMIT));
+        return new ResponseEntity<>(hits, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,47 @@
+package com.real.interview.controller;
+
+import com.real.interview.service.MovieSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Serves the pre-built catalog snapshot, gzip-compressed NDJSON, straight from disk.
+ * Range requests (resumable and parallel downloads) are answered with 206 partial content;
+ * the ETag is the SHA-256 of the file, so If-Range and If-None-Match work across refreshes, restarts and instances.
+ */
+@RestController
+@RequestMapping("/api/movies/snapshot")
+public class MovieSnapshotController {
+
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    @Autowired
+    private MovieSnapshotService movieSnapshotService;
+
+    @GetMapping()
+    public ResponseEntity<Resource> getSnapshot(WebRequest webRequest) {
+        MovieSnapshotService.Snapshot snapshot = movieSnapshotService.current();
+        if (snapshot == null) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        String eTag = snapshot.eTag();
+        if (webRequest.checkNotModified(eTag, snapshot.createdAt().toEpochMilli())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_GZIP);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies.ndjson.gz\"");
+        headers.setETag(eTag);
+        headers.setLastModified(snapshot.createdAt());
+        return new ResponseEntity<>(new FileSystemResource(snapshot.file()), headers, HttpStatus.OK);
+    }
+}
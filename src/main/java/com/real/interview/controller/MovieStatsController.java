@@ -0,0 +1,27 @@
+package com.real.interview.controller;
+
+import com.real.interview.dto.MovieStats;
+import com.real.interview.stats.MovieStatsCounters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Counts and average rating per genre, per release year and per both, without scanning the catalog:
+ * e.g., /api/movies/stats
+ */
+@RestController
+@RequestMapping("/api/movies/stats")
+public class MovieStatsController {
+
+    @Autowired
+    private MovieStatsCounters movieStatsCounters;
+
+    @GetMapping()
+    public ResponseEntity<MovieStats> getStats() {
+        return new ResponseEntity<>(movieStatsCounters.stats(), HttpStatus.OK);
+    }
+}
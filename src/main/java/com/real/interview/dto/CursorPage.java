@@ -0,0 +1,11 @@
+package com.real.interview.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) scroll over the catalog.
+ * nextCursor is opaque to clients and is passed back as ?after= to fetch the following page;
+ * it is null when hasNext is false.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,10 @@
+package com.real.interview.dto;
+
+/**
+ * One row of the SQL GROUP BY genre, releaseYear used to reconcile the in-memory statistics.
+ *
+ * @param ratedCount movies in the group that have a rating
+ * @param ratingSum  sum of those ratings, null when none is rated
+ */
+public record GenreYearAggregate(String genre, Integer releaseYear, Long count, Long ratedCount, Double ratingSum) {
+}
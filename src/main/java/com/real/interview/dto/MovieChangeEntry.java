@@ -0,0 +1,19 @@
+package com.real.interview.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.real.interview.entity.MovieChange;
+import com.real.interview.event.MovieChangedEvent;
+
+import java.time.Instant;
+
+/**
+ * One change of GET /api/movies/changes; payload is the stored JSON, written as is.
+ */
+public record MovieChangeEntry(long seq, Long movieId, MovieChangedEvent.ChangeType changeType,
+                               @JsonRawValue String payload, Instant createdAt) {
+
+    public static MovieChangeEntry of(MovieChange change) {
+        return new MovieChangeEntry(change.getSeq(), change.getMovieId(), change.getChangeType(),
+                change.getPayload(), change.getCreatedAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.real.interview.dto;
+
+import java.util.List;
+
+/**
+ * A batch of the change feed. next is passed back as ?since= to continue after the last change;
+ * it equals the requested since when there was nothing new.
+ */
+public record MovieChangeFeed(List<MovieChangeEntry> changes, long next) {
+}
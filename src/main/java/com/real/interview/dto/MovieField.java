@@ -0,0 +1,56 @@
+package com.real.interview.dto;
+
+import com.real.interview.exception.InvalidFieldsException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Movie properties that can be requested with ?fields= and sorted on in projected listings.
+ */
+public enum MovieField {
+
+    ID("id"),
+    TITLE("title"),
+    GENRE("genre"),
+    RELEASE_YEAR("releaseYear"),
+    RATING("rating");
+
+    private final String property;
+
+    MovieField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public static MovieField of(String property) {
+        for (MovieField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldsException(property);
+    }
+
+    /**
+     * Parses a comma separated list such as "id,title", keeping the requested order and dropping duplicates.
+     */
+    public static List<MovieField> parse(String fields) {
+        List<MovieField> parsed = new ArrayList<>();
+        if (fields != null) {
+            for (String property : fields.split(",")) {
+                MovieField field = of(property.trim());
+                if (!parsed.contains(field)) {
+                    parsed.add(field);
+                }
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new InvalidFieldsException(fields);
+        }
+        return parsed;
+    }
+}
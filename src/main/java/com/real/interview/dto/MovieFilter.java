@@ -0,0 +1,11 @@
+package com.real.interview.dto;
+
+import java.util.List;
+
+/**
+ * Criteria of GET /api/movies/filter; every criterion is optional and null means "any".
+ * Ranges are inclusive and genres match exactly.
+ */
+public record MovieFilter(Integer minYear, Integer maxYear, Double minRating, Double maxRating,
+                          List<String> genres, String titlePrefix) {
+}
@@ -0,0 +1,11 @@
+package com.real.interview.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Count and average rating of one group; the grouping fields that do not apply are omitted.
+ * averageRating only considers rated movies and is null when none of them is rated.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MovieGroupStats(String genre, Integer releaseYear, long count, Double averageRating) {
+}
@@ -0,0 +1,21 @@
+package com.real.interview.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a file import started with POST /api/movies/import, as returned by GET /api/movies/import/{id}.
+ * Rejections use the zero-based position of the row in the file (header excluded) as their index
+ * and are capped, while {@code rejected} counts all of them.
+ */
+public record MovieImportStatus(String id, String fileName, State state, long rowsRead, long imported, long rejected,
+                                double rowsPerSecond, Instant startedAt, Instant finishedAt, String error,
+                                List<MovieIngestResult> rejections) {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,13 @@
+package com.real.interview.dto;
+
+import java.util.List;
+
+/**
+ * Response body of POST /api/movies/batch: totals plus one result per submitted item, in input order.
+ */
+public record MovieIngestReport(int created, int failed, List<MovieIngestResult> results) {
+
+    public boolean hasFailures() {
+        return failed > 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.real.interview.dto;
+
+/**
+ * Outcome of a single item in a bulk ingest request.
+ * The index is the zero-based position of the item in the submitted array or NDJSON stream.
+ */
+public record MovieIngestResult(int index, Long id, Status status, String error) {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    public static MovieIngestResult created(int index, Long id) {
+        return new MovieIngestResult(index, id, Status.CREATED, null);
+    }
+
+    public static MovieIngestResult failed(int index, String error) {
+        return new MovieIngestResult(index, null, Status.FAILED, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.real.interview.dto;
+
+import java.util.List;
+
+/**
+ * Catalog aggregates served by GET /api/movies/stats.
+ */
+public record MovieStats(long totalMovies,
+                         Double averageRating,
+                         List<MovieGroupStats> byGenre,
+                         List<MovieGroupStats> byReleaseYear,
+                         List<MovieGroupStats> byGenreAndReleaseYear) {
+}
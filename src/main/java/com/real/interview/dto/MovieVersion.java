@@ -0,0 +1,69 @@
+package com.real.interview.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Version-only projection of a movie, used for ETag and Last-Modified handling.
+ * The ETag of a movie is its version as a strong entity tag, e.g. "3".
+ */
+public record MovieVersion(Long id, Long version, Instant lastModified) {
+
+    // An If-Match value that is not one of our ETags can never match a stored version
+    private static final long UNMATCHABLE_VERSION = -1L;
+
+    public String eTag() {
+        return eTag(version);
+    }
+
+    public static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Versions listed in an If-Match header, any of which satisfies it: null when there is no precondition
+     * ("*" or absent). If-Match uses strong comparison (RFC 9110 section 13.1.1), so weak tags never match.
+     * A header without any of our strong ETags yields a version no movie has.
+     */
+    public static List<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String element : ifMatch.split(",")) {
+            String tag = element.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        return versions.isEmpty() ? List.of(UNMATCHABLE_VERSION) : versions;
+    }
+
+    /**
+     * The version a conditional write should expect for the versions of {@link #parseIfMatch}. With several,
+     * it is the current version when that is one of them; the conditional UPDATE still fails if the movie
+     * changes before it runs.
+     */
+    public static Long expectedVersion(List<Long> ifMatchVersions, Supplier<Long> currentVersion) {
+        if (ifMatchVersions == null) {
+            return null;
+        }
+        if (ifMatchVersions.size() > 1) {
+            Long current = currentVersion.get();
+            if (ifMatchVersions.contains(current)) {
+                return current;
+            }
+        }
+        return ifMatchVersions.get(0);
+    }
+}
@@ -0,0 +1,7 @@
+package com.real.interview.dto;
+
+/**
+ * Body of PUT /api/movies/{id}/rating, e.g. {"rating": 8.1}.
+ */
+public record RatingUpdate(Double rating) {
+}
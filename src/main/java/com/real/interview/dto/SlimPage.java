@@ -0,0 +1,16 @@
+package com.real.interview.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Compact page envelope for projected listings: the content plus the numbers clients page with,
+ * without the pageable and sort blocks that Spring's Page serializes.
+ */
+public record SlimPage<T>(List<T> content, int page, int size, long totalElements, int totalPages) {
+
+    public static <T> SlimPage<T> of(Page<T> page) {
+        return new SlimPage<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+}
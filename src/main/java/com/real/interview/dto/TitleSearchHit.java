@@ -0,0 +1,7 @@
+package com.real.interview.dto;
+
+/**
+ * A ranked result of GET /api/movies/search/title; higher scores are better matches.
+ */
+public record TitleSearchHit(long id, String title, int score) {
+}
@@ -1,23 +1,102 @@
 package com.real.interview.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.real.interview.config.HibernateCacheConfig;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_movie_title_release_year", columnList = "title, releaseYear"),
+        @Index(name = "idx_movie_release_year", columnList = "releaseYear"),
+        @Index(name = "idx_movie_genre_release_year", columnList = "genre, releaseYear"),
+        @Index(name = "idx_movie_title_normalized", columnList = "titleNormalized")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.MOVIE_REGION)
 @NoArgsConstructor
 @Data
 public class Movie {
+    /**
+     * Pooled sequence instead of IDENTITY: Hibernate can only batch inserts when it knows the id
+     * before the INSERT runs, and allocationSize=50 means one sequence call per 50 rows.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_seq")
+    @SequenceGenerator(name = "movie_seq", sequenceName = "movie_seq", allocationSize = 50)
     private Long id;
     private String title;
     private String genre;
     private Integer releaseYear;
     private Double rating;
 
+    /**
+     * Lower-cased copy of the title. H2 has no function-based indexes, so case-insensitive
+     * lookups go through this indexed column instead of upper(title).
+     */
+    @JsonIgnore
+    private String titleNormalized;
+
+    /**
+     * Optimistic lock version, published as the movie's ETag.
+     * The single-statement writes of MovieWriteRepository bypass Hibernate and increment it themselves.
+     */
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant lastModified;
+
+    @PrePersist
+    @PreUpdate
+    void beforeWrite() {
+        titleNormalized = normalizeTitle(title);
+        lastModified = now();
+    }
+
+    /**
+     * A field-by-field copy that is not attached to any persistence context.
+     */
+    public Movie copy() {
+        Movie copy = new Movie();
+        copy.setId(id);
+        copy.setTitle(title);
+        copy.setTitleNormalized(titleNormalized);
+        copy.setGenre(genre);
+        copy.setReleaseYear(releaseYear);
+        copy.setRating(rating);
+        copy.setVersion(version);
+        copy.setLastModified(lastModified);
+        return copy;
+    }
+
+    /**
+     * The current time at the precision of the timestamp column, so the entity kept in the second-level cache
+     * after a write equals the row read back from the database.
+     */
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 
+    public static String normalizeTitle(String title) {
+        return title == null ? null : title.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,50 @@
+package com.real.interview.entity;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.real.interview.event.MovieChangedEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One row of the movie change outbox, written in the same transaction as the change itself
+ * and served in {@code seq} order by GET /api/movies/changes.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_movie_change_created_at", columnList = "createdAt"))
+@NoArgsConstructor
+@Data
+public class MovieChange {
+
+    /**
+     * IDENTITY, so the rows can be inserted with a plain JDBC batch; ascending but with gaps
+     * wherever a transaction rolled back.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    private Long movieId;
+
+    @Enumerated(EnumType.STRING)
+    private MovieChangedEvent.ChangeType changeType;
+
+    /**
+     * JSON of the movie after a SAVED change, of the changed fields after a PATCHED change, null for DELETED.
+     */
+    @JsonRawValue
+    @Column(length = 4000)
+    private String payload;
+
+    private Instant createdAt;
+}
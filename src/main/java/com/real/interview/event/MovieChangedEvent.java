@@ -0,0 +1,34 @@
+package com.real.interview.event;
+
+import com.real.interview.entity.Movie;
+
+/**
+ * Published after a movie has been written, so in-memory views of the catalog can stay in sync.
+ * Listeners should use {@code @TransactionalEventListener(fallbackExecution = true)}: they then run after
+ * the surrounding transaction commits, or immediately when the write was not transactional.
+ *
+ * @param type    what happened to the movie
+ * @param movieId id of the affected movie
+ * @param movie   full state after the write for SAVED, only the changed fields (others null) and the new
+ *                lastModified for PATCHED, null for DELETED
+ */
+public record MovieChangedEvent(ChangeType type, Long movieId, Movie movie) {
+
+    public enum ChangeType {
+        SAVED,
+        PATCHED,
+        DELETED
+    }
+
+    public static MovieChangedEvent saved(Movie movie) {
+        return new MovieChangedEvent(ChangeType.SAVED, movie.getId(), movie);
+    }
+
+    public static MovieChangedEvent patched(Long movieId, Movie changes) {
+        return new MovieChangedEvent(ChangeType.PATCHED, movieId, changes);
+    }
+
+    public static MovieChangedEvent deleted(Long movieId) {
+        return new MovieChangedEvent(ChangeType.DELETED, movieId, null);
+    }
+}
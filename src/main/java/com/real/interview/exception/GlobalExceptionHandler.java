@@ -1,6 +1,13 @@
 package com.real.interview.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,19 +25,139 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Seconds a client is asked to wait before offering another import; jobs usually finish within this
+    private static final int IMPORT_RETRY_AFTER_SECONDS = 30;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ResponseEntity<byte[]> movieNotFoundResponse;
+
+    @PostConstruct
+    void init() throws JsonProcessingException {
+        ProblemDetail movieNotFound = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, "Movie not found");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        // The response is shared by every request, so nothing may add to its headers
+        movieNotFoundResponse = new ResponseEntity<>(objectMapper.writeValueAsBytes(movieNotFound),
+                HttpHeaders.readOnlyHttpHeaders(headers), HttpStatus.NOT_FOUND);
+    }
 
     /**
-     * Handles MovieNotFoundException, returning HTTP 404 Not Found.
+     * Handles MovieNotFoundException, returning HTTP 404 Not Found as an RFC 7807 problem.
+     * The body is the same for every miss (the id is in the request path), so it is serialized once
+     * and each 404 only writes the cached bytes.
      */
     @ExceptionHandler(MovieNotFoundException.class)
-    public ResponseEntity<Map<String,Object>> handleMovieNotFoundException(MovieNotFoundException movieNotFoundException)
+    public ResponseEntity<byte[]> handleMovieNotFoundException(MovieNotFoundException movieNotFoundException)
+    {
+        return movieNotFoundResponse;
+    }
+
+    /**
+     * Handles InvalidCursorException, returning HTTP 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidCursorException(InvalidCursorException invalidCursorException)
+    {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Bad Request");
+        errorDetails.put("message", invalidCursorException.getMessage());
+        errorDetails.put("timestamp", new Date());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidFieldsException (unknown ?fields= or sort property), returning HTTP 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidFieldsException(InvalidFieldsException invalidFieldsException)
+    {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Bad Request");
+        errorDetails.put("message", invalidFieldsException.getMessage());
+        errorDetails.put("timestamp", new Date());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidRatingException, returning HTTP 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidRatingException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidRatingException(InvalidRatingException invalidRatingException)
+    {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Bad Request");
+        errorDetails.put("message", invalidRatingException.getMessage());
+        errorDetails.put("timestamp", new Date());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidFilterException (empty range or blank criterion), returning HTTP 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidFilterException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidFilterException(InvalidFilterException invalidFilterException)
+    {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Bad Request");
+        errorDetails.put("message", invalidFilterException.getMessage());
+        errorDetails.put("timestamp", new Date());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidImportException (missing file or unsupported format), returning HTTP 400 Bad Request.
+     */
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<Map<String,Object>> handleInvalidImportException(InvalidImportException invalidImportException)
+    {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Bad Request");
+        errorDetails.put("message", invalidImportException.getMessage());
+        errorDetails.put("timestamp", new Date());
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles ImportCapacityExceededException (too many imports running or waiting), returning HTTP 503 Service Unavailable.
+     */
+    @ExceptionHandler(ImportCapacityExceededException.class)
+    public ResponseEntity<Map<String,Object>> handleImportCapacityExceededException(ImportCapacityExceededException importCapacityExceededException)
+    {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorDetails.put("error", "Service Unavailable");
+        errorDetails.put("message", importCapacityExceededException.getMessage());
+        errorDetails.put("timestamp", new Date());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(IMPORT_RETRY_AFTER_SECONDS));
+        return new ResponseEntity<>(errorDetails, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles MovieVersionMismatchException (failed If-Match), returning HTTP 412 Precondition Failed.
+     */
+    @ExceptionHandler(MovieVersionMismatchException.class)
+    public ResponseEntity<Map<String,Object>> handleMovieVersionMismatchException(MovieVersionMismatchException movieVersionMismatchException)
     {
         Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("status", HttpStatus.NOT_FOUND.value());
-        errorDetails.put("error", "Not Found");
-        errorDetails.put("message", movieNotFoundException.getMessage());
+        errorDetails.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        errorDetails.put("error", "Precondition Failed");
+        errorDetails.put("message", movieVersionMismatchException.getMessage());
         errorDetails.put("timestamp", new Date());
 
-        return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorDetails, HttpStatus.PRECONDITION_FAILED);
     }
 }
@@ -0,0 +1,9 @@
+package com.real.interview.exception;
+
+public class ImportCapacityExceededException extends RuntimeException {
+
+    public ImportCapacityExceededException(int maxJobs)
+    {
+        super("Movie import capacity exceeded: " + maxJobs + " imports are already running or waiting, retry later");
+    }
+}
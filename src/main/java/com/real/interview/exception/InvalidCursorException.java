@@ -0,0 +1,9 @@
+package com.real.interview.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor)
+    {
+        super("Invalid pagination cursor:"+cursor);
+    }
+}
@@ -0,0 +1,9 @@
+package com.real.interview.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String field)
+    {
+        super("Unknown movie field:"+field);
+    }
+}
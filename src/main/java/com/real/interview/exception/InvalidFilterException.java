@@ -0,0 +1,9 @@
+package com.real.interview.exception;
+
+public class InvalidFilterException extends RuntimeException {
+
+    public InvalidFilterException(String message)
+    {
+        super("Invalid movie filter: "+message);
+    }
+}
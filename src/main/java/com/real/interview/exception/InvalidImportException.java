@@ -0,0 +1,9 @@
+package com.real.interview.exception;
+
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message)
+    {
+        super("Invalid movie import: "+message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.real.interview.exception;
+
+public class InvalidRatingException extends RuntimeException {
+
+    public InvalidRatingException(Double rating)
+    {
+        super("Movie rating must be between 0 and 10:"+rating);
+    }
+}
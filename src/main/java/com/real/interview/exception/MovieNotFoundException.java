@@ -1,9 +1,25 @@
 package com.real.interview.exception;
 
+/**
+ * Thrown on the normal miss path of id lookups, which scanners and bots hit constantly.
+ * It carries no stack trace, and the message is only built when someone asks for it.
+ */
 public class MovieNotFoundException  extends RuntimeException{
 
+    private final Long id;
+
     public MovieNotFoundException(Long id)
     {
-        super("Movie not found exception for id:"+id);
+        super(null, null, false, false);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Movie not found exception for id:"+id;
     }
 }
@@ -0,0 +1,9 @@
+package com.real.interview.exception;
+
+public class MovieVersionMismatchException extends RuntimeException {
+
+    public MovieVersionMismatchException(Long id, Long expectedVersion)
+    {
+        super("Movie " + id + " has been modified, expected version:" + expectedVersion);
+    }
+}
@@ -0,0 +1,40 @@
+package com.real.interview.metrics;
+
+import com.real.interview.service.MovieService;
+import com.real.interview.support.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes movie.singleflight.calls (outcome executed or coalesced) and movie.singleflight.in.flight
+ * for every {@link SingleFlight} in MovieService, tagged by operation.
+ */
+@Component
+public class SingleFlightMetrics implements MeterBinder {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (SingleFlight<?, ?> flight : movieService.singleFlights()) {
+            FunctionCounter.builder("movie.singleflight.calls", flight, SingleFlight::executedCount)
+                    .description("Lookups that reached the database")
+                    .tag("operation", flight.getName())
+                    .tag("outcome", "executed")
+                    .register(registry);
+            FunctionCounter.builder("movie.singleflight.calls", flight, SingleFlight::coalescedCount)
+                    .description("Lookups that shared an identical in-flight call")
+                    .tag("operation", flight.getName())
+                    .tag("outcome", "coalesced")
+                    .register(registry);
+            Gauge.builder("movie.singleflight.in.flight", flight, SingleFlight::inFlightCount)
+                    .tag("operation", flight.getName())
+                    .register(registry);
+        }
+    }
+}
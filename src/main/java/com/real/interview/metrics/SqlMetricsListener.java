@@ -0,0 +1,55 @@
+package com.real.interview.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * datasource-proxy listener that times every JDBC execution.
+ * Each execution (a JDBC batch counts as one round trip) is recorded in the movie.sql.execution timer,
+ * tagged by statement type, and added to the current request's {@link SqlStatementStats}.
+ */
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SqlMetricsListener(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        START.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - START.get()[0];
+
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(elapsed);
+        }
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            QueryType type = queryInfoList.isEmpty() ? QueryType.OTHER : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+            Timer.builder("movie.sql.execution")
+                    .description("JDBC statement executions")
+                    .tag("type", type.name().toLowerCase())
+                    .tag("batch", String.valueOf(execInfo.isBatch()))
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.real.interview.metrics;
+
+/**
+ * Per-thread tally of JDBC statements and the time spent executing them.
+ * {@link SqlMetricsFilter} opens one for every API request; code outside a request
+ * (startup, scheduled jobs, async export threads) is not counted.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the stats of the current thread, or null when no tally was started
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void record(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long jdbcNanos() {
+        return jdbcNanos;
+    }
+}
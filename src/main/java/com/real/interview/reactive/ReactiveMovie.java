@@ -0,0 +1,38 @@
+package com.real.interview.reactive;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * R2DBC mapping of the movie table; serializes to the same JSON as {@link com.real.interview.entity.Movie}.
+ */
+@Table("movie")
+@NoArgsConstructor
+@Data
+public class ReactiveMovie {
+    @Id
+    private Long id;
+    private String title;
+    private String genre;
+    private Integer releaseYear;
+    private Double rating;
+
+    @JsonIgnore
+    private String titleNormalized;
+
+    /**
+     * Set to 0 on insert and incremented by every update, like the Hibernate-managed version of Movie.
+     */
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant lastModified;
+}
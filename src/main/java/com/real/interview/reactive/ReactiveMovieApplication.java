@@ -0,0 +1,29 @@
+package com.real.interview.reactive;
+
+import com.real.interview.exception.GlobalExceptionHandler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-blocking deployment of the movie API: WebFlux on Netty over R2DBC, with the same routes under /api/movies.
+ * Only this package is scanned, and every bean in it is limited to the reactive profile
+ * so the servlet application, which scans the whole code base, never picks them up.
+ * Settings live in application-reactive.properties.
+ */
+@Profile(ReactiveMovieApplication.PROFILE)
+@SpringBootApplication
+@Import(GlobalExceptionHandler.class)
+public class ReactiveMovieApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveMovieApplication.class)
+                .profiles(PROFILE)
+                .web(WebApplicationType.REACTIVE)
+                .run(args);
+    }
+}
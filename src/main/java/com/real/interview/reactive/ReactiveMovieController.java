@@ -0,0 +1,86 @@
+package com.real.interview.reactive;
+
+import com.real.interview.controller.MovieBatchController;
+import com.real.interview.dto.CursorPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same routes and payloads as MovieController, served without blocking a thread per request.
+ */
+@Profile(ReactiveMovieApplication.PROFILE)
+@RestController
+@RequestMapping("/api/movies")
+public class ReactiveMovieController {
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    @Autowired
+    private ReactiveMovieService movieService;
+
+    @PostMapping()
+    public Mono<ResponseEntity<ReactiveMovie>> createMovie(@RequestBody ReactiveMovie movie) {
+        return movieService.save(movie).map(newMovie -> new ResponseEntity<>(newMovie, HttpStatus.CREATED));
+    }
+
+    /**
+     * e.g., /api/movies?page=0&size=10&sort=title,asc
+     */
+    @GetMapping()
+    public Mono<Page<ReactiveMovie>> getAllMovie(Pageable pageable) {
+        return movieService.findAll(pageable);
+    }
+
+    /**
+     * e.g., /api/movies?after=&size=50, then /api/movies?after={nextCursor}&size=50
+     */
+    @GetMapping(params = "after")
+    public Mono<CursorPage<ReactiveMovie>> getMoviesAfter(@RequestParam String after,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        return movieService.findAfter(after, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+    }
+
+    /**
+     * Whole catalog as newline-delimited JSON, written as rows arrive and paced by the client.
+     */
+    @GetMapping(value = "/export", produces = MovieBatchController.APPLICATION_NDJSON_VALUE)
+    public Flux<ReactiveMovie> exportMovies() {
+        return movieService.streamAll();
+    }
+
+    @GetMapping("/{movieId}")
+    public Mono<ReactiveMovie> getMovieForId(@PathVariable Long movieId) {
+        return movieService.findById(movieId);
+    }
+
+    @PutMapping("/{movieId}")
+    public Mono<ReactiveMovie> updateMovie(@PathVariable Long movieId, @RequestBody ReactiveMovie movie) {
+        return movieService.updateMovieById(movieId, movie);
+    }
+
+    @PatchMapping("/{movieId}")
+    public Mono<ResponseEntity<Void>> patchMovie(@PathVariable Long movieId, @RequestBody ReactiveMovie changes) {
+        return movieService.patchMovieById(movieId, changes)
+                .map(isPatched -> isPatched ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{movieId}")
+    public Mono<ResponseEntity<Void>> deleteMovie(@PathVariable Long movieId) {
+        return movieService.deleteById(movieId)
+                .map(isDeleted -> isDeleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<ReactiveMovie>>> searchMovie(@RequestParam String title, @RequestParam Integer year) {
+        return movieService.findByTitleAndReleaseYear(title, year).collectList().map(ResponseEntity::ok);
+    }
+}
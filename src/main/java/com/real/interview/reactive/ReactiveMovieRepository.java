@@ -0,0 +1,56 @@
+package com.real.interview.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Reactive counterpart of MovieRepository. Only created by ReactiveMovieApplication,
+ * the servlet application excludes the R2DBC repository auto-configuration.
+ */
+public interface ReactiveMovieRepository extends R2dbcRepository<ReactiveMovie, Long> {
+
+    Flux<ReactiveMovie> findAllBy(Pageable pageable);
+
+    Flux<ReactiveMovie> findByTitleAndReleaseYear(String title, Integer releaseYear);
+
+    @Query("select * from movie where id > :afterId order by id limit :limit")
+    Flux<ReactiveMovie> findPageAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Whole catalog in id order; rows are pulled from the driver as the subscriber requests them.
+     */
+    @Query("select * from movie order by id")
+    Flux<ReactiveMovie> streamAll();
+
+    @Modifying
+    @Query("update movie set title = :title, title_normalized = :titleNormalized, genre = :genre, "
+            + "release_year = :releaseYear, rating = :rating, version = version + 1, last_modified = :lastModified "
+            + "where id = :id")
+    Mono<Integer> updateMovieById(@Param("id") long id, @Param("title") String title,
+                                  @Param("titleNormalized") String titleNormalized, @Param("genre") String genre,
+                                  @Param("releaseYear") Integer releaseYear, @Param("rating") Double rating,
+                                  @Param("lastModified") Instant lastModified);
+
+    /**
+     * Null arguments leave the column unchanged.
+     */
+    @Modifying
+    @Query("update movie set title = coalesce(:title, title), title_normalized = coalesce(:titleNormalized, title_normalized), "
+            + "genre = coalesce(:genre, genre), release_year = coalesce(:releaseYear, release_year), "
+            + "rating = coalesce(:rating, rating), version = version + 1, last_modified = :lastModified where id = :id")
+    Mono<Integer> patchMovieById(@Param("id") long id, @Param("title") String title,
+                                 @Param("titleNormalized") String titleNormalized, @Param("genre") String genre,
+                                 @Param("releaseYear") Integer releaseYear, @Param("rating") Double rating,
+                                 @Param("lastModified") Instant lastModified);
+
+    @Modifying
+    @Query("delete from movie where id = :id")
+    Mono<Integer> deleteMovieById(@Param("id") long id);
+}
@@ -0,0 +1,102 @@
+package com.real.interview.reactive;
+
+import com.real.interview.dto.CursorPage;
+import com.real.interview.entity.Movie;
+import com.real.interview.exception.MovieNotFoundException;
+import com.real.interview.service.MovieService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Non-blocking version of MovieService: the same operations and single-statement writes, without
+ * the lookup cache and the in-memory title index, which are servlet-mode features.
+ * <p>
+ * Writes maintain version and last_modified like MovieService but publish no MovieChangedEvent: the reactive
+ * application runs on its own database, and none of the event consumers (change feed, statistics, snapshot,
+ * read replica) exist in it.
+ */
+@Profile(ReactiveMovieApplication.PROFILE)
+@Service
+public class ReactiveMovieService {
+
+    // Rows requested from the driver at a time while streaming the catalog
+    private static final int STREAM_PREFETCH = 500;
+
+    @Autowired
+    private ReactiveMovieRepository movieRepository;
+
+    public Mono<ReactiveMovie> save(ReactiveMovie movie) {
+        movie.setTitleNormalized(Movie.normalizeTitle(movie.getTitle()));
+        movie.setLastModified(Movie.now());
+        return movieRepository.save(movie);
+    }
+
+    public Mono<Page<ReactiveMovie>> findAll(Pageable pageable) {
+        return movieRepository.findAllBy(pageable).collectList()
+                .zipWith(movieRepository.count())
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    public Mono<CursorPage<ReactiveMovie>> findAfter(String cursor, int size) {
+        return Mono.fromCallable(() -> MovieService.decodeCursor(cursor))
+                .flatMapMany(afterId -> movieRepository.findPageAfter(afterId, size + 1))
+                .collectList()
+                .map(movies -> {
+                    boolean hasNext = movies.size() > size;
+                    List<ReactiveMovie> content = hasNext ? movies.subList(0, size) : movies;
+                    String nextCursor = hasNext ? MovieService.encodeCursor(content.get(content.size() - 1).getId()) : null;
+                    return new CursorPage<>(content, size, nextCursor, hasNext);
+                });
+    }
+
+    /**
+     * Streams the catalog with backpressure: the driver is asked for at most STREAM_PREFETCH rows
+     * ahead of what the client has consumed, so a slow client never makes the server buffer the table.
+     */
+    public Flux<ReactiveMovie> streamAll() {
+        return movieRepository.streamAll().limitRate(STREAM_PREFETCH);
+    }
+
+    public Mono<ReactiveMovie> findById(Long id) {
+        return movieRepository.findById(id).switchIfEmpty(Mono.error(() -> new MovieNotFoundException(id)));
+    }
+
+    public Mono<ReactiveMovie> updateMovieById(Long movieId, ReactiveMovie movie) {
+        String titleNormalized = Movie.normalizeTitle(movie.getTitle());
+        Instant now = Movie.now();
+        return movieRepository.updateMovieById(movieId, movie.getTitle(), titleNormalized,
+                        movie.getGenre(), movie.getReleaseYear(), movie.getRating(), now)
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.error(new MovieNotFoundException(movieId));
+                    }
+                    movie.setId(movieId);
+                    movie.setTitleNormalized(titleNormalized);
+                    movie.setLastModified(now);
+                    return Mono.just(movie);
+                });
+    }
+
+    public Mono<Boolean> patchMovieById(Long movieId, ReactiveMovie changes) {
+        return movieRepository.patchMovieById(movieId, changes.getTitle(), Movie.normalizeTitle(changes.getTitle()),
+                        changes.getGenre(), changes.getReleaseYear(), changes.getRating(), Movie.now())
+                .map(updated -> updated > 0);
+    }
+
+    public Flux<ReactiveMovie> findByTitleAndReleaseYear(String title, Integer releaseYear) {
+        return movieRepository.findByTitleAndReleaseYear(title, releaseYear);
+    }
+
+    public Mono<Boolean> deleteById(Long id) {
+        return movieRepository.deleteMovieById(id).map(deleted -> deleted > 0);
+    }
+}
@@ -0,0 +1,664 @@
+package com.real.interview.replica;
+
+import com.real.interview.dto.MovieVersion;
+import com.real.interview.entity.Movie;
+import com.real.interview.event.MovieChangedEvent;
+import com.real.interview.repository.MovieRepository;
+import com.real.interview.support.LongIntHashMap;
+import com.real.interview.support.StringDictionary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented in-memory copy of the catalog that answers the hot read paths of MovieService without JDBC.
+ * <p>
+ * Each movie is a row ordinal into primitive columns: ids, versions and modification times as longs, release years
+ * as ints, ratings as doubles, and genres and titles as int codes into {@link StringDictionary}s. Nulls are
+ * encoded as {@link #NULL_YEAR}, NaN and {@link StringDictionary#NULL}. Filters scan a single column; sorted
+ * pages use a row ordering that is sorted once per sort (by the first reader that asks for it) and then kept in
+ * order by each write, which shifts the changed row to its new position in place instead of invalidating it.
+ * Only the {@code movie.replica.max-orderings} most recently used sorts keep an ordering.
+ * <p>
+ * Loaded by a streaming scan at startup and kept current from {@link MovieChangedEvent}s: updates overwrite
+ * the row in place, deletes leave a tombstone until half the rows are tombstones. Enabled with
+ * {@code movie.replica.enabled=true}; writes that bypass MovieService are not seen until the next {@link #load()}.
+ */
+@Component
+@ConditionalOnProperty(name = "movie.replica.enabled", havingValue = "true")
+public class MovieReadReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieReadReplica.class);
+
+    private static final int NULL_YEAR = Integer.MIN_VALUE;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+    private static final Set<String> SORTABLE = Set.of("id", "title", "genre", "releaseYear", "rating");
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${movie.replica.max-orderings:8}")
+    private int maxOrderings;
+
+    // Row orderings by sort in access order, guarded by itself; dropped when a compaction renumbers the rows
+    private final LinkedHashMap<Sort, Ordering> orderings = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Sort, Ordering> eldest) {
+            return size() > maxOrderings;
+        }
+    };
+
+    private volatile boolean loaded;
+
+    private long[] ids;
+    private long[] versions;
+    private long[] lastModified;
+    private int[] releaseYears;
+    private double[] ratings;
+    private int[] genres;
+    private int[] titles;
+    private BitSet deleted;
+    private int rowCount;
+    private int deletedCount;
+    private LongIntHashMap rowById;
+    // Bumped by reset(), which renumbers the rows and drops the orderings
+    private int resets;
+    private StringDictionary genreDictionary;
+    private StringDictionary titleDictionary;
+
+    public MovieReadReplica() {
+        reset(1024);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            reset(1024);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Movie> movies = movieRepository.streamAll()) {
+                    movies.forEach(movie -> {
+                        put(movie, movie.getVersion());
+                        entityManager.detach(movie);
+                    });
+                }
+            });
+            loaded = true;
+            int size = rowById.size();
+            logger.info("Movie read replica loaded {} movies, ~{} bytes ({} bytes/movie)",
+                    size, estimatedBytes(), size == 0 ? 0 : estimatedBytes() / size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int row = rowById.get(event.movieId());
+            List<Ordering> built = builtOrderings();
+            int[] positions = new int[built.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = row == LongIntHashMap.MISSING ? -1 : built.get(i).indexOf(row);
+            }
+            int resetsBefore = resets;
+            switch (event.type()) {
+                case DELETED -> removeRow(event.movieId());
+                case PATCHED -> {
+                    if (row != LongIntHashMap.MISSING) {
+                        patchRow(row, event.movie());
+                    }
+                }
+                default -> put(event.movie(), event.movie().getVersion());
+            }
+            if (resets != resetsBefore) {
+                return; // a compaction renumbered the rows and dropped the orderings
+            }
+            int changed = rowById.get(event.movieId());
+            for (int i = 0; i < positions.length; i++) {
+                Ordering ordering = built.get(i);
+                if (changed == LongIntHashMap.MISSING) {
+                    if (positions[i] >= 0) {
+                        ordering.remove(positions[i]);
+                    }
+                } else if (positions[i] >= 0) {
+                    ordering.move(positions[i]);
+                } else {
+                    ordering.insert(changed);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * False until the startup load has finished; callers fall back to the database until then.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public Optional<Movie> findById(long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowById.get(id);
+            return row == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(toMovie(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All movies in id order.
+     */
+    public List<Movie> findAll() {
+        lock.readLock().lock();
+        try {
+            Ordering ordering = ordering(Sort.unsorted());
+            return toMovies(ordering.rows, 0, ordering.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Version and modification time of a movie, for conditional requests.
+     */
+    public Optional<MovieVersion> findVersionById(long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowById.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                return Optional.empty();
+            }
+            return Optional.of(new MovieVersion(id, versions[row], lastModified[row] == NULL_TIME ? null
+                    : Instant.ofEpochSecond(0, lastModified[row])));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Movie> findByReleaseYear(Integer releaseYear) {
+        if (releaseYear == null) {
+            return List.of();
+        }
+        int year = releaseYear;
+        lock.readLock().lock();
+        try {
+            List<Movie> movies = new ArrayList<>();
+            for (int row = 0; row < rowCount; row++) {
+                if (releaseYears[row] == year && !deleted.get(row)) {
+                    movies.add(toMovie(row));
+                }
+            }
+            return movies;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Movie> findByGenre(String genre) {
+        lock.readLock().lock();
+        try {
+            int code = genreDictionary.find(genre);
+            if (code == StringDictionary.NULL) {
+                return List.of();
+            }
+            List<Movie> movies = new ArrayList<>();
+            for (int row = 0; row < rowCount; row++) {
+                if (genres[row] == code && !deleted.get(row)) {
+                    movies.add(toMovie(row));
+                }
+            }
+            return movies;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * True when {@link #findAll(Pageable)} can serve the sort: plain properties of the movie, each at most once,
+     * without ignore-case or explicit null handling.
+     */
+    public boolean supports(Sort sort) {
+        Set<String> properties = new HashSet<>();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty()) || order.isIgnoreCase()
+                    || order.getNullHandling() != Sort.NullHandling.NATIVE || !properties.add(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorted page in the same order as H2 would return it: nulls first when ascending, last when descending,
+     * ties broken by id.
+     *
+     * @throws IllegalArgumentException when the sort is not {@link #supports(Sort) supported}
+     */
+    public Page<Movie> findAll(Pageable pageable) {
+        if (!supports(pageable.getSort())) {
+            throw new IllegalArgumentException("Unsupported sort for the read replica: " + pageable.getSort());
+        }
+        lock.readLock().lock();
+        try {
+            Ordering ordering = ordering(pageable.getSort());
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(toMovies(ordering.rows, 0, ordering.size), pageable, ordering.size);
+            }
+            int from = (int) Math.min(pageable.getOffset(), ordering.size);
+            int to = Math.min(from + pageable.getPageSize(), ordering.size);
+            return new PageImpl<>(toMovies(ordering.rows, from, to), pageable, ordering.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int orderingCount() {
+        synchronized (orderings) {
+            return orderings.size();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap footprint of the columns, the id map, the dictionaries and the sort orderings.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = ids.length * (8L + 8 + 8 + 4 + 8 + 4 + 4);
+            long orderingBytes = 0;
+            synchronized (orderings) {
+                for (Ordering ordering : orderings.values()) {
+                    orderingBytes += ordering.estimatedBytes();
+                }
+            }
+            return columns + deleted.size() / 8 + rowById.estimatedBytes()
+                    + genreDictionary.estimatedBytes() + titleDictionary.estimatedBytes() + orderingBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Live rows in sort order. The first reader of a sort builds it under the read lock while concurrent
+     * readers of the same sort wait for it; writes keep it current afterwards.
+     */
+    private Ordering ordering(Sort sort) {
+        Ordering ordering;
+        synchronized (orderings) {
+            ordering = orderings.computeIfAbsent(sort, key -> new Ordering(comparator(key)));
+        }
+        ordering.build();
+        return ordering;
+    }
+
+    /**
+     * Orderings that readers have built; called with the write lock held, so none is being built.
+     */
+    private List<Ordering> builtOrderings() {
+        synchronized (orderings) {
+            return orderings.values().stream().filter(ordering -> ordering.rows != null).toList();
+        }
+    }
+
+    /**
+     * Binary search for a row in {@code rows[from, to)}; every sort ends with the id, so only the row itself
+     * compares equal. Same contract as {@link Arrays#binarySearch(int[], int, int, int)}.
+     */
+    private static int search(int[] rows, int from, int to, int row, RowComparator comparator) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = comparator.compare(rows[mid], row);
+            if (compared < 0) {
+                low = mid + 1;
+            } else if (compared > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Bottom-up merge sort of row ordinals, so building an ordering does not box every row.
+     */
+    private static void sort(int[] rows, RowComparator comparator) {
+        int[] source = rows;
+        int[] target = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int from = 0; from < rows.length; from += 2 * width) {
+                int mid = Math.min(from + width, rows.length);
+                int to = Math.min(from + 2 * width, rows.length);
+                int left = from;
+                int right = mid;
+                int out = from;
+                while (left < mid && right < to) {
+                    target[out++] = comparator.compare(source[right], source[left]) < 0 ? source[right++] : source[left++];
+                }
+                while (left < mid) {
+                    target[out++] = source[left++];
+                }
+                while (right < to) {
+                    target[out++] = source[right++];
+                }
+            }
+            int[] sorted = target;
+            target = source;
+            source = sorted;
+        }
+        if (source != rows) {
+            System.arraycopy(source, 0, rows, 0, rows.length);
+        }
+    }
+
+    private RowComparator comparator(Sort sort) {
+        RowComparator comparator = null;
+        for (Sort.Order order : sort) {
+            RowComparator next = columnComparator(order.getProperty(), order.isAscending());
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        RowComparator byId = (a, b) -> Long.compare(ids[a], ids[b]);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private RowComparator columnComparator(String property, boolean ascending) {
+        RowComparator comparator = switch (property) {
+            case "id" -> (a, b) -> Long.compare(ids[a], ids[b]);
+            case "releaseYear" -> nullsLow(row -> releaseYears[row] == NULL_YEAR,
+                    (a, b) -> Integer.compare(releaseYears[a], releaseYears[b]));
+            case "rating" -> nullsLow(row -> Double.isNaN(ratings[row]),
+                    (a, b) -> Double.compare(ratings[a], ratings[b]));
+            case "genre" -> nullsLow(row -> genres[row] == StringDictionary.NULL,
+                    (a, b) -> genreDictionary.compare(genres[a], genres[b]));
+            case "title" -> nullsLow(row -> titles[row] == StringDictionary.NULL,
+                    (a, b) -> titleDictionary.compare(titles[a], titles[b]));
+            default -> throw new IllegalArgumentException("Unsupported sort property " + property);
+        };
+        return ascending ? comparator : (a, b) -> comparator.compare(b, a);
+    }
+
+    /**
+     * H2 treats null as the lowest value: first when ascending, last when descending.
+     */
+    private static RowComparator nullsLow(IntPredicate isNull, RowComparator values) {
+        return (a, b) -> {
+            boolean aNull = isNull.test(a);
+            boolean bNull = isNull.test(b);
+            if (aNull || bNull) {
+                return aNull == bNull ? 0 : aNull ? -1 : 1;
+            }
+            return values.compare(a, b);
+        };
+    }
+
+    private List<Movie> toMovies(int[] ordering, int from, int to) {
+        List<Movie> movies = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            movies.add(toMovie(ordering[i]));
+        }
+        return movies;
+    }
+
+    private Movie toMovie(int row) {
+        Movie movie = new Movie();
+        movie.setId(ids[row]);
+        movie.setTitle(titleDictionary.decode(titles[row]));
+        movie.setTitleNormalized(Movie.normalizeTitle(movie.getTitle()));
+        movie.setGenre(genreDictionary.decode(genres[row]));
+        movie.setReleaseYear(releaseYears[row] == NULL_YEAR ? null : releaseYears[row]);
+        movie.setRating(Double.isNaN(ratings[row]) ? null : ratings[row]);
+        movie.setVersion(versions[row]);
+        movie.setLastModified(lastModified[row] == NULL_TIME ? null
+                : Instant.ofEpochSecond(0, lastModified[row]));
+        return movie;
+    }
+
+    private void put(Movie movie, Long version) {
+        int row = rowById.get(movie.getId());
+        if (row == LongIntHashMap.MISSING) {
+            if (rowCount == ids.length) {
+                grow(ids.length * 2);
+            }
+            row = rowCount++;
+            ids[row] = movie.getId();
+            rowById.put(movie.getId(), row);
+        }
+        titles[row] = titleDictionary.encode(movie.getTitle());
+        genres[row] = genreDictionary.encode(movie.getGenre());
+        releaseYears[row] = movie.getReleaseYear() == null ? NULL_YEAR : movie.getReleaseYear();
+        ratings[row] = movie.getRating() == null ? Double.NaN : movie.getRating();
+        versions[row] = version == null ? 0 : version;
+        lastModified[row] = toNanos(movie.getLastModified());
+    }
+
+    /**
+     * Applies the non-null fields of a PATCHED event; the UPDATE incremented the version by one.
+     */
+    private void patchRow(int row, Movie changes) {
+        if (changes.getTitle() != null) {
+            titles[row] = titleDictionary.encode(changes.getTitle());
+        }
+        if (changes.getGenre() != null) {
+            genres[row] = genreDictionary.encode(changes.getGenre());
+        }
+        if (changes.getReleaseYear() != null) {
+            releaseYears[row] = changes.getReleaseYear();
+        }
+        if (changes.getRating() != null) {
+            ratings[row] = changes.getRating();
+        }
+        versions[row]++;
+        if (changes.getLastModified() != null) {
+            lastModified[row] = toNanos(changes.getLastModified());
+        }
+    }
+
+    private void removeRow(long id) {
+        int row = rowById.remove(id);
+        if (row == LongIntHashMap.MISSING) {
+            return;
+        }
+        deleted.set(row);
+        deletedCount++;
+        if (deletedCount >= MIN_COMPACTION_TOMBSTONES && deletedCount * 2 > rowCount) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<Movie> live = new ArrayList<>(rowById.size());
+        for (int row = 0; row < rowCount; row++) {
+            if (!deleted.get(row)) {
+                live.add(toMovie(row));
+            }
+        }
+        // Rebuilding also drops dictionary entries that only deleted or overwritten rows used
+        reset(Math.max(1024, live.size()));
+        for (Movie movie : live) {
+            put(movie, movie.getVersion());
+        }
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        lastModified = Arrays.copyOf(lastModified, capacity);
+        releaseYears = Arrays.copyOf(releaseYears, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        genres = Arrays.copyOf(genres, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+    }
+
+    private void reset(int capacity) {
+        resets++;
+        ids = new long[capacity];
+        versions = new long[capacity];
+        lastModified = new long[capacity];
+        releaseYears = new int[capacity];
+        ratings = new double[capacity];
+        genres = new int[capacity];
+        titles = new int[capacity];
+        deleted = new BitSet();
+        rowCount = 0;
+        deletedCount = 0;
+        rowById = new LongIntHashMap(capacity);
+        genreDictionary = new StringDictionary();
+        titleDictionary = new StringDictionary();
+        synchronized (orderings) {
+            orderings.clear();
+        }
+    }
+
+    /**
+     * Epoch nanos rounded to microseconds, the precision the timestamp column keeps,
+     * so events carrying an in-memory Instant store the same value the database does.
+     */
+    private static long toNanos(Instant instant) {
+        if (instant == null) {
+            return NULL_TIME;
+        }
+        long micros = instant.getEpochSecond() * 1_000_000L + (instant.getNano() + 500) / 1000;
+        return micros * 1000;
+    }
+
+    /**
+     * Comparator of row ordinals, so sorting and searching an ordering does not box rows.
+     */
+    @FunctionalInterface
+    private interface RowComparator {
+
+        int compare(int a, int b);
+
+        default RowComparator thenComparing(RowComparator next) {
+            return (a, b) -> {
+                int compared = compare(a, b);
+                return compared != 0 ? compared : next.compare(a, b);
+            };
+        }
+    }
+
+    /**
+     * Live rows in the order of one sort. Writes, which hold the write lock, update it in place: a changed row is
+     * shifted only across the rows between its old and new position.
+     */
+    private final class Ordering {
+
+        private final RowComparator comparator;
+        // Sorted in rows[0, size); null until the first reader builds it
+        private int[] rows;
+        private int size;
+
+        Ordering(RowComparator comparator) {
+            this.comparator = comparator;
+        }
+
+        synchronized void build() {
+            if (rows != null) {
+                return;
+            }
+            int[] live = new int[rowById.size()];
+            int count = 0;
+            for (int row = 0; row < rowCount; row++) {
+                if (!deleted.get(row)) {
+                    live[count++] = row;
+                }
+            }
+            sort(live, comparator);
+            size = count;
+            rows = live;
+        }
+
+        int indexOf(int row) {
+            return search(rows, 0, size, row, comparator);
+        }
+
+        void insert(int row) {
+            int index = -(search(rows, 0, size, row, comparator) + 1);
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size + (size >> 1) + 16);
+            }
+            System.arraycopy(rows, index, rows, index + 1, size - index);
+            rows[index] = row;
+            size++;
+        }
+
+        void remove(int index) {
+            System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+            size--;
+        }
+
+        /**
+         * Moves the row at {@code index}, whose column values have changed, to where they now sort.
+         */
+        void move(int index) {
+            int row = rows[index];
+            if (index > 0 && comparator.compare(rows[index - 1], row) > 0) {
+                int target = -(search(rows, 0, index, row, comparator) + 1);
+                System.arraycopy(rows, target, rows, target + 1, index - target);
+                rows[target] = row;
+            } else if (index + 1 < size && comparator.compare(rows[index + 1], row) < 0) {
+                int target = -(search(rows, index + 1, size, row, comparator) + 1) - 1;
+                System.arraycopy(rows, index + 1, rows, index, target - index);
+                rows[target] = row;
+            }
+        }
+
+        long estimatedBytes() {
+            int[] current = rows;
+            return current == null ? 0 : 4L * current.length;
+        }
+    }
+}
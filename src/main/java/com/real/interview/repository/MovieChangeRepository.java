@@ -0,0 +1,26 @@
+package com.real.interview.repository;
+
+import com.real.interview.entity.MovieChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface MovieChangeRepository extends JpaRepository<MovieChange, Long> {
+
+    /**
+     * The next {@code limit} changes after {@code since}, a primary key range scan.
+     */
+    @Query("select c from MovieChange c where c.seq > :since order by c.seq")
+    List<MovieChange> findAfter(@Param("since") long since, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MovieChange c where c.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,19 @@
+package com.real.interview.repository;
+
+import com.real.interview.dto.MovieField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dynamic projections: queries that select only the requested movie columns.
+ * Each row is returned as a map from property name to value, in the order the fields were requested.
+ */
+public interface MovieFieldsRepository {
+
+    Page<Map<String, Object>> findAllFields(List<MovieField> fields, Pageable pageable);
+
+    List<Map<String, Object>> findFieldsByTitleAndReleaseYear(List<MovieField> fields, String title, Integer releaseYear);
+}
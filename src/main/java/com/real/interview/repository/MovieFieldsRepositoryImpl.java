@@ -0,0 +1,79 @@
+package com.real.interview.repository;
+
+import com.real.interview.dto.MovieField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * JPQL tuple queries behind {@link MovieFieldsRepository}. Only whitelisted {@link MovieField}
+ * properties are ever concatenated into the query, so fields and sort orders cannot inject JPQL.
+ */
+class MovieFieldsRepositoryImpl implements MovieFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Map<String, Object>> findAllFields(List<MovieField> fields, Pageable pageable) {
+        TypedQuery<Tuple> query = entityManager.createQuery(select(fields) + orderBy(pageable.getSort()), Tuple.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // The count query is skipped when the page shows that it is the last one
+        return PageableExecutionUtils.getPage(toMaps(fields, query.getResultList()), pageable,
+                () -> entityManager.createQuery("select count(m) from Movie m", Long.class).getSingleResult());
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByTitleAndReleaseYear(List<MovieField> fields, String title, Integer releaseYear) {
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                select(fields) + " where m.title = :title and m.releaseYear = :releaseYear", Tuple.class);
+        query.setParameter("title", title);
+        query.setParameter("releaseYear", releaseYear);
+        return toMaps(fields, query.getResultList());
+    }
+
+    private static String select(List<MovieField> fields) {
+        StringJoiner columns = new StringJoiner(", ", "select ", " from Movie m");
+        for (MovieField field : fields) {
+            columns.add("m." + field.property() + " as " + field.property());
+        }
+        return columns.toString();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orders = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order order : sort) {
+            orders.add("m." + MovieField.of(order.getProperty()).property() + (order.isAscending() ? " asc" : " desc"));
+        }
+        return orders.toString();
+    }
+
+    private static List<Map<String, Object>> toMaps(List<MovieField> fields, List<Tuple> tuples) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(fields.get(i).property(), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -1,10 +1,22 @@
 package com.real.interview.repository;
 
+import com.real.interview.config.HibernateCacheConfig;
+import com.real.interview.dto.GenreYearAggregate;
+import com.real.interview.dto.MovieVersion;
 import com.real.interview.entity.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Why we are not @Repository annotation on MovieRepository
@@ -13,13 +25,90 @@ import java.util.List;
  *
  */
 
-public interface MovieRepository  extends JpaRepository<Movie, Long> {
+public interface MovieRepository  extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie>, MovieFieldsRepository,
+        MovieWriteRepository {
 
+    // The finders below are cached in the movie-queries region; every write to Movie invalidates them
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.MOVIE_QUERY_REGION)
+    })
     List<Movie> findByTitleContainingIgnoreCase(String title);
 
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.MOVIE_QUERY_REGION)
+    })
     List<Movie> findByTitleAndReleaseYear(String title, Integer releaseYear);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.MOVIE_QUERY_REGION)
+    })
     List<Movie> findByReleaseYear(Integer releaseYear);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.MOVIE_QUERY_REGION)
+    })
+    List<Movie> findByGenre(String genre);
+
+    /**
+     * Case-insensitive prefix lookup served by idx_movie_title_normalized.
+     * Callers pass the prefix through {@link Movie#normalizeTitle(String)} first.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.MOVIE_QUERY_REGION)
+    })
+    List<Movie> findByTitleNormalizedStartingWith(String normalizedPrefix);
+
+    /**
+     * Keyset page: the next {@code limit} movies with an id greater than {@code afterId}.
+     * Served by a primary key range scan, so the cost does not depend on how deep the page is,
+     * and no count query is issued.
+     */
+    @Query("select m from Movie m where m.id > :afterId order by m.id")
+    List<Movie> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Movies with {@code fromId <= id < toId} in id order, a primary key range scan.
+     * Like {@link #streamAll()} it bypasses the second-level cache, so background scans do not churn it.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select m from Movie m where m.id >= :fromId and m.id < :toId order by m.id")
+    List<Movie> findIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Streams the whole catalog in id order through a JDBC cursor instead of materializing a List.
+     * Must be consumed inside a transaction and closed afterwards (try-with-resources);
+     * callers should detach each entity once it has been processed to keep the persistence context small.
+     * The rows are not put into the second-level cache.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select m from Movie m order by m.id")
+    Stream<Movie> streamAll();
+
+    /**
+     * Count and rating sum per genre and release year, computed by the database.
+     */
+    @Query("select new com.real.interview.dto.GenreYearAggregate(m.genre, m.releaseYear, count(m), count(m.rating), sum(m.rating)) "
+            + "from Movie m group by m.genre, m.releaseYear")
+    List<GenreYearAggregate> aggregateByGenreAndReleaseYear();
+
+    /**
+     * Version and modification time only, so conditional GETs can be answered without loading the movie.
+     */
+    @Query("select new com.real.interview.dto.MovieVersion(m.id, m.version, m.lastModified) from Movie m where m.id = :id")
+    Optional<MovieVersion> findVersionById(@Param("id") long id);
+
 }
@@ -0,0 +1,94 @@
+package com.real.interview.repository;
+
+import com.real.interview.dto.MovieFilter;
+import com.real.interview.entity.Movie;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Building blocks for {@link MovieRepository#findAll(Specification, org.springframework.data.domain.Pageable)}.
+ * Each returns null when its criterion is absent, so only the given criteria end up in the WHERE clause.
+ * Genre plus year range is served by idx_movie_genre_release_year, a year range alone by idx_movie_release_year
+ * and a title prefix by idx_movie_title_normalized; rating is checked on the rows the index returns.
+ */
+public final class MovieSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private MovieSpecifications() {
+    }
+
+    /**
+     * All criteria of the filter combined with AND, as one query.
+     */
+    public static Specification<Movie> matching(MovieFilter filter) {
+        return Specification.allOf(Arrays.asList(
+                releasedBetween(filter.minYear(), filter.maxYear()),
+                ratedBetween(filter.minRating(), filter.maxRating()),
+                genreIn(filter.genres()),
+                titleStartsWith(filter.titlePrefix())));
+    }
+
+    public static Specification<Movie> releasedBetween(Integer minYear, Integer maxYear) {
+        if (minYear == null && maxYear == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minYear == null) {
+                return cb.lessThanOrEqualTo(root.get("releaseYear"), maxYear);
+            }
+            if (maxYear == null) {
+                return cb.greaterThanOrEqualTo(root.get("releaseYear"), minYear);
+            }
+            return cb.between(root.get("releaseYear"), minYear, maxYear);
+        };
+    }
+
+    public static Specification<Movie> ratedBetween(Double minRating, Double maxRating) {
+        if (minRating == null && maxRating == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minRating == null) {
+                return cb.lessThanOrEqualTo(root.get("rating"), maxRating);
+            }
+            if (maxRating == null) {
+                return cb.greaterThanOrEqualTo(root.get("rating"), minRating);
+            }
+            return cb.between(root.get("rating"), minRating, maxRating);
+        };
+    }
+
+    public static Specification<Movie> genreIn(Collection<String> genres) {
+        if (genres == null || genres.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("genre").in(genres);
+    }
+
+    /**
+     * Case-insensitive prefix match on titleNormalized, so idx_movie_title_normalized serves it as a range scan.
+     * LIKE wildcards in the prefix are matched literally.
+     */
+    public static Specification<Movie> titleStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = escapeLike(Movie.normalizeTitle(prefix)) + "%";
+        return (root, query, cb) -> cb.like(root.get("titleNormalized"), pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
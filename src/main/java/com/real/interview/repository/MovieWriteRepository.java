@@ -0,0 +1,33 @@
+package com.real.interview.repository;
+
+import java.time.Instant;
+
+/**
+ * Single-statement writes by id, without loading the movie first.
+ * With a non-null {@code expectedVersion} a row is only updated while it still has that version.
+ */
+public interface MovieWriteRepository {
+
+    /**
+     * Replaces every field of a movie with a single UPDATE, which also returns the new version.
+     *
+     * @return the new version, null when no movie has that id (or that version)
+     */
+    Long updateMovieById(long id, String title, String titleNormalized, String genre, Integer releaseYear, Double rating,
+                        Long expectedVersion, Instant lastModified);
+
+    /**
+     * Partial update with a single UPDATE: null arguments leave the column unchanged.
+     *
+     * @return the number of rows updated, 0 when no movie has that id (or that version)
+     */
+    int patchMovieById(long id, String title, String titleNormalized, String genre, Integer releaseYear, Double rating,
+                       Long expectedVersion, Instant lastModified);
+
+    /**
+     * Deletes with a single DELETE; unlike {@link MovieRepository#deleteById(Object)} the movie is not loaded first.
+     *
+     * @return the number of rows deleted, 0 when no movie has that id
+     */
+    int deleteMovieById(long id);
+}
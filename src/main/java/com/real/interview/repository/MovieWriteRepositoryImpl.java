@@ -0,0 +1,134 @@
+package com.real.interview.repository;
+
+import com.real.interview.config.HibernateCacheConfig;
+import com.real.interview.entity.Movie;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Plain JDBC statements behind {@link MovieWriteRepository}.
+ * <p>
+ * A JPQL bulk UPDATE or DELETE makes Hibernate drop the whole Movie entity region, whichever row it touched.
+ * These statements bypass Hibernate instead and, once the transaction has committed, evict only the written
+ * movie from the entity region. The query region is still evicted: its entries hold the full state of the
+ * movies they return, so any written column can make them stale.
+ * <p>
+ * The statements are plain SQL for any database. On H2 the full update is wrapped in a data change delta table
+ * ({@code select version from final table (update ...)}), which returns the new version in the same statement;
+ * elsewhere an update without an expected version reads it back with a second one.
+ */
+class MovieWriteRepositoryImpl implements MovieWriteRepository {
+
+    private static final String UPDATE_MOVIE = "update movie set title = ?, title_normalized = ?, genre = ?, "
+            + "release_year = ?, rating = ?, version = version + 1, last_modified = ? where id = ?";
+
+    private static final String PATCH_MOVIE = "update movie set title = coalesce(?, title), "
+            + "title_normalized = coalesce(?, title_normalized), genre = coalesce(?, genre), "
+            + "release_year = coalesce(?, release_year), rating = coalesce(?, rating), version = version + 1, "
+            + "last_modified = ? where id = ?";
+
+    // Appended, with the expected version as the last argument, for If-Match
+    private static final String VERSION_MATCHES = " and version = ?";
+
+    private static final String SELECT_VERSION = "select version from movie where id = ?";
+
+    private static final String DELETE_MOVIE = "delete from movie where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private boolean h2;
+
+    @PostConstruct
+    void detectDatabase() {
+        h2 = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect() instanceof H2Dialect;
+    }
+
+    @Override
+    @Transactional
+    public Long updateMovieById(long id, String title, String titleNormalized, String genre, Integer releaseYear,
+                                Double rating, Long expectedVersion, Instant lastModified) {
+        entityManager.flush();
+        String sql = expectedVersion == null ? UPDATE_MOVIE : UPDATE_MOVIE + VERSION_MATCHES;
+        Object[] args = arguments(expectedVersion, title, titleNormalized, genre, releaseYear, rating,
+                Timestamp.from(lastModified), id);
+        Long version;
+        if (h2) {
+            version = DataAccessUtils.singleResult(
+                    jdbcTemplate.queryForList("select version from final table (" + sql + ")", Long.class, args));
+        } else if (jdbcTemplate.update(sql, args) == 0) {
+            version = null;
+        } else {
+            // The row stays locked by the UPDATE, so no other write can have changed the version since
+            version = expectedVersion != null ? expectedVersion + 1 : jdbcTemplate.queryForObject(SELECT_VERSION, Long.class, id);
+        }
+        afterWrite(id, version == null ? 0 : 1);
+        return version;
+    }
+
+    @Override
+    @Transactional
+    public int patchMovieById(long id, String title, String titleNormalized, String genre, Integer releaseYear,
+                              Double rating, Long expectedVersion, Instant lastModified) {
+        entityManager.flush();
+        int updated = jdbcTemplate.update(expectedVersion == null ? PATCH_MOVIE : PATCH_MOVIE + VERSION_MATCHES,
+                arguments(expectedVersion, title, titleNormalized, genre, releaseYear, rating, Timestamp.from(lastModified), id));
+        afterWrite(id, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteMovieById(long id) {
+        entityManager.flush();
+        int deleted = jdbcTemplate.update(DELETE_MOVIE, id);
+        afterWrite(id, deleted);
+        return deleted;
+    }
+
+    private static Object[] arguments(Long expectedVersion, Object... args) {
+        if (expectedVersion == null) {
+            return args;
+        }
+        Object[] withVersion = Arrays.copyOf(args, args.length + 1);
+        withVersion[args.length] = expectedVersion;
+        return withVersion;
+    }
+
+    private void afterWrite(long id, int rows) {
+        if (rows == 0) {
+            return;
+        }
+        // The persistence context may still hold the old state of the row
+        entityManager.clear();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Movie.class, id);
+                entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                        .evictQueryRegion(HibernateCacheConfig.MOVIE_QUERY_REGION);
+            }
+        });
+    }
+}
@@ -0,0 +1,370 @@
+package com.real.interview.search;
+
+import com.real.interview.dto.TitleSearchHit;
+import com.real.interview.entity.Movie;
+import com.real.interview.event.MovieChangedEvent;
+import com.real.interview.repository.MovieRepository;
+import com.real.interview.support.IntList;
+import com.real.interview.support.LongIntHashMap;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over movie titles for substring and autocomplete search.
+ * <p>
+ * Every title is assigned a document number and broken into lower-cased character trigrams;
+ * each trigram maps to an ascending posting list of document numbers. A query of three or more
+ * characters intersects the posting lists of its trigrams and verifies the survivors with a plain
+ * substring check. One- and two-character queries use separate word-prefix postings instead.
+ * <p>
+ * Updates append a new document and tombstone the old one; the index is compacted once
+ * half of it is tombstones. Built from a streaming scan at startup and kept in sync through
+ * {@link MovieChangedEvent}s.
+ */
+@Component
+public class TitleSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TitleSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+    private static final int SCORE_EXACT = 4;
+    private static final int SCORE_TITLE_PREFIX = 3;
+    private static final int SCORE_WORD_PREFIX = 2;
+    private static final int SCORE_CONTAINS = 1;
+
+    private static final Comparator<TitleSearchHit> RANKING = Comparator
+            .comparingInt(TitleSearchHit::score).reversed()
+            .thenComparingInt((TitleSearchHit hit) -> hit.title().length())
+            .thenComparingLong(TitleSearchHit::id);
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private String[] titles;
+    private String[] normalizedTitles;
+    private BitSet deleted;
+    private int documentCount;
+    private int deletedCount;
+    private LongIntHashMap documentById;
+    private Map<Long, IntList> postings;
+
+    public TitleSearchIndex() {
+        reset(1024);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            reset(1024);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Movie> movies = movieRepository.streamAll()) {
+                    movies.forEach(movie -> {
+                        addDocument(movie.getId(), movie.getTitle());
+                        entityManager.detach(movie);
+                    });
+                }
+            });
+            logger.info("Title search index loaded {} movies, ~{} bytes", documentById.size(), estimatedBytes());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        switch (event.type()) {
+            case DELETED -> remove(event.movieId());
+            case PATCHED -> {
+                if (event.movie().getTitle() != null) {
+                    add(event.movieId(), event.movie().getTitle());
+                }
+            }
+            default -> add(event.movieId(), event.movie().getTitle());
+        }
+    }
+
+    public void add(long id, String title) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            addDocument(id, title);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Case-insensitive substring search, best matches first:
+     * exact title, then title prefix, then word prefix, then any substring;
+     * ties go to the shorter title and then the lower id.
+     */
+    public List<TitleSearchHit> search(String query, int limit) {
+        String normalizedQuery = Movie.normalizeTitle(query == null ? "" : query.trim());
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<TitleSearchHit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+
+        lock.readLock().lock();
+        try {
+            IntList[] lists = candidateLists(normalizedQuery);
+            if (lists == null) {
+                return List.of();
+            }
+            IntList smallest = lists[0];
+            int[] cursors = new int[lists.length];
+            candidates:
+            for (int i = 0; i < smallest.size(); i++) {
+                int document = smallest.get(i);
+                for (int l = 1; l < lists.length; l++) {
+                    int position = lists[l].binarySearch(cursors[l], document);
+                    if (position < 0) {
+                        cursors[l] = -position - 1;
+                        continue candidates;
+                    }
+                    cursors[l] = position;
+                }
+                if (deleted.get(document)) {
+                    continue;
+                }
+                int score = score(normalizedTitles[document], normalizedQuery);
+                if (score == 0) {
+                    continue;
+                }
+                // Broad queries verify many candidates: only allocate a hit when it makes the top-N
+                if (best.size() == limit && !outranks(score, titles[document].length(), ids[document], best.peek())) {
+                    continue;
+                }
+                best.offer(new TitleSearchHit(ids[document], titles[document], score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<TitleSearchHit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap footprint of the index structures and the titles they reference.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = ids.length * 8L + titles.length * 8L * 2 + deleted.size() / 8 + documentById.estimatedBytes();
+            for (int document = 0; document < documentCount; document++) {
+                bytes += 40 + titles[document].length();
+                if (normalizedTitles[document] != titles[document]) {
+                    bytes += 40 + normalizedTitles[document].length();
+                }
+            }
+            for (IntList list : postings.values()) {
+                // HashMap node + boxed key + IntList + int[] header and payload
+                bytes += 32 + 16 + 24 + 16 + list.capacity() * 4L;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting lists that every match must appear in, smallest first; null when nothing can match.
+     */
+    private IntList[] candidateLists(String normalizedQuery) {
+        Set<Long> keys = new HashSet<>();
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            keys.add(key(normalizedQuery, 0, normalizedQuery.length()));
+        } else {
+            for (int i = 0; i + GRAM_LENGTH <= normalizedQuery.length(); i++) {
+                keys.add(key(normalizedQuery, i, GRAM_LENGTH));
+            }
+        }
+        IntList[] lists = new IntList[keys.size()];
+        int i = 0;
+        for (Long key : keys) {
+            IntList list = postings.get(key);
+            if (list == null) {
+                return null;
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(IntList::size));
+        return lists;
+    }
+
+    private void addDocument(long id, String title) {
+        if (title == null) {
+            return;
+        }
+        if (documentCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            normalizedTitles = Arrays.copyOf(normalizedTitles, capacity);
+        }
+        int document = documentCount++;
+        String normalized = Movie.normalizeTitle(title);
+        ids[document] = id;
+        titles[document] = title;
+        normalizedTitles[document] = normalized.equals(title) ? title : normalized;
+        documentById.put(id, document);
+
+        Set<Long> keys = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            keys.add(key(normalized, i, GRAM_LENGTH));
+        }
+        for (int start = 0; start < normalized.length(); start++) {
+            if (isWordStart(normalized, start)) {
+                keys.add(key(normalized, start, 1));
+                if (start + 1 < normalized.length()) {
+                    keys.add(key(normalized, start, 2));
+                }
+            }
+        }
+        for (Long key : keys) {
+            postings.computeIfAbsent(key, k -> new IntList()).add(document);
+        }
+    }
+
+    private void removeDocument(long id) {
+        int document = documentById.remove(id);
+        if (document == LongIntHashMap.MISSING) {
+            return;
+        }
+        deleted.set(document);
+        deletedCount++;
+        if (deletedCount >= MIN_COMPACTION_TOMBSTONES && deletedCount * 2 > documentCount) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        long[] liveIds = new long[documentById.size()];
+        String[] liveTitles = new String[documentById.size()];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (!deleted.get(document)) {
+                liveIds[live] = ids[document];
+                liveTitles[live] = titles[document];
+                live++;
+            }
+        }
+        reset(Math.max(1024, live));
+        for (int i = 0; i < live; i++) {
+            addDocument(liveIds[i], liveTitles[i]);
+        }
+    }
+
+    private void reset(int capacity) {
+        ids = new long[capacity];
+        titles = new String[capacity];
+        normalizedTitles = new String[capacity];
+        deleted = new BitSet();
+        documentCount = 0;
+        deletedCount = 0;
+        documentById = new LongIntHashMap(capacity);
+        postings = new HashMap<>();
+    }
+
+    private static boolean outranks(int score, int titleLength, long id, TitleSearchHit worst) {
+        if (score != worst.score()) {
+            return score > worst.score();
+        }
+        if (titleLength != worst.title().length()) {
+            return titleLength < worst.title().length();
+        }
+        return id < worst.id();
+    }
+
+    private static int score(String normalizedTitle, String normalizedQuery) {
+        if (normalizedTitle.equals(normalizedQuery)) {
+            return SCORE_EXACT;
+        }
+        if (normalizedTitle.startsWith(normalizedQuery)) {
+            return SCORE_TITLE_PREFIX;
+        }
+        int score = 0;
+        int from = normalizedTitle.indexOf(normalizedQuery);
+        while (from >= 0) {
+            if (isWordStart(normalizedTitle, from)) {
+                return SCORE_WORD_PREFIX;
+            }
+            score = SCORE_CONTAINS;
+            from = normalizedTitle.indexOf(normalizedQuery, from + 1);
+        }
+        return score;
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return Character.isLetterOrDigit(text.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)));
+    }
+
+    /**
+     * Packs up to three UTF-16 chars and the gram length into one long,
+     * so trigrams and short word-prefix keys never collide.
+     */
+    private static long key(String text, int start, int length) {
+        long key = length;
+        for (int i = 0; i < length; i++) {
+            key = (key << 16) | text.charAt(start + i);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,256 @@
+package com.real.interview.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.real.interview.dto.MovieChangeEntry;
+import com.real.interview.dto.MovieChangeFeed;
+import com.real.interview.entity.MovieChange;
+import com.real.interview.event.MovieChangedEvent;
+import com.real.interview.repository.MovieChangeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional outbox behind GET /api/movies/changes.
+ * <p>
+ * Every {@link MovieChangedEvent} becomes a movie_change row. Inside a transaction the rows are
+ * collected and inserted as one JDBC batch just before commit, so they commit or roll back together
+ * with the change; outside one they are inserted right away.
+ * <p>
+ * Sequence numbers are assigned at insert time but transactions can commit out of order, so a reader
+ * stops at the first gap in the sequence, including one right after {@code since=0}, until the gap has been
+ * seen for {@code movie.changes.gap-timeout}; only then is it treated as a rolled back transaction and skipped.
+ * <p>
+ * Long-polling readers are parked. A commit that wrote changes only signals a single dispatcher thread, which
+ * reads once from the lowest parked {@code since} and hands every waiter its part of the result.
+ */
+@Service
+public class MovieChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieChangeFeedService.class);
+
+    private static final String INSERT_CHANGE =
+            "insert into movie_change (movie_id, change_type, payload, created_at) values (?, ?, ?, ?)";
+
+    @Autowired
+    private MovieChangeRepository movieChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${movie.changes.gap-timeout:5s}")
+    private Duration gapTimeout;
+
+    @Value("${movie.changes.retention:7d}")
+    private Duration retention;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    // When each missing sequence number was first seen by a reader
+    private final Map<Long, Instant> gapsSeenAt = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "movie-change-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Set while a dispatch is queued but not started, so a burst of commits queues a single one
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    private record Waiter(long since, int limit, DeferredResult<MovieChangeFeed> result) {
+    }
+
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        Object[] row = toRow(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT_CHANGE, row);
+            signalDispatcher();
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (rows == null) {
+            List<Object[]> transactionRows = new ArrayList<>();
+            rows = transactionRows;
+            TransactionSynchronizationManager.bindResource(this, transactionRows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    jdbcTemplate.batchUpdate(INSERT_CHANGE, transactionRows);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MovieChangeFeedService.this);
+                    if (status == STATUS_COMMITTED) {
+                        signalDispatcher();
+                    }
+                }
+            });
+        }
+        rows.add(row);
+    }
+
+    /**
+     * Up to {@code limit} committed changes after {@code since}, in sequence order.
+     */
+    public MovieChangeFeed read(long since, int limit) {
+        return committed(since, movieChangeRepository.findAfter(since, Limit.of(limit)));
+    }
+
+    /**
+     * The rows up to the first gap that may still be committing.
+     */
+    private MovieChangeFeed committed(long since, List<MovieChange> rows) {
+        Instant now = Instant.now();
+        List<MovieChangeEntry> changes = new ArrayList<>(rows.size());
+        long next = since;
+        for (MovieChange change : rows) {
+            long missing = next + 1;
+            if (change.getSeq() != missing) {
+                // Timed from when the gap was first seen: the next row's createdAt says nothing about the missing one
+                Instant seenAt = gapsSeenAt.computeIfAbsent(missing, seq -> now);
+                if (seenAt.plus(gapTimeout).isAfter(now)) {
+                    break;
+                }
+            } else if (!gapsSeenAt.isEmpty()) {
+                gapsSeenAt.remove(missing);
+            }
+            changes.add(MovieChangeEntry.of(change));
+            next = change.getSeq();
+        }
+        return new MovieChangeFeed(changes, next);
+    }
+
+    /**
+     * Like {@link #read} but, when there is nothing new, completes once a change commits or {@code wait} elapses.
+     */
+    public DeferredResult<MovieChangeFeed> poll(long since, int limit, Duration wait) {
+        DeferredResult<MovieChangeFeed> result = new DeferredResult<>(wait.toMillis(), () -> new MovieChangeFeed(List.of(), since));
+        MovieChangeFeed feed = read(since, limit);
+        if (!feed.changes().isEmpty() || wait.isZero()) {
+            result.setResult(feed);
+            return result;
+        }
+        Waiter waiter = new Waiter(since, limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // A change that committed between the read and the registration would not wake us up
+        complete(waiter);
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${movie.changes.purge-interval:1h}", initialDelayString = "${movie.changes.purge-interval:1h}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        int deleted = movieChangeRepository.deleteOlderThan(cutoff);
+        gapsSeenAt.values().removeIf(seenAt -> seenAt.isBefore(cutoff));
+        logger.info("Purged {} movie changes older than {}", deleted, retention);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void signalDispatcher() {
+        if (!waiters.isEmpty() && dispatchQueued.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                dispatchQueued.set(false);
+                try {
+                    dispatch();
+                } catch (RuntimeException e) {
+                    logger.error("Could not dispatch movie changes to waiting readers", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * One read from the lowest parked since, fanned out to all parked waiters.
+     */
+    private void dispatch() {
+        List<Waiter> parked = new ArrayList<>();
+        long since = Long.MAX_VALUE;
+        int limit = 0;
+        for (Waiter waiter : waiters) {
+            if (!waiter.result().isSetOrExpired()) {
+                parked.add(waiter);
+                since = Math.min(since, waiter.since());
+                limit = Math.max(limit, waiter.limit());
+            }
+        }
+        if (parked.isEmpty()) {
+            return;
+        }
+        List<MovieChange> rows = movieChangeRepository.findAfter(since, Limit.of(limit));
+        MovieChangeFeed feed = committed(since, rows);
+        // Only a full batch without gaps can end before a waiter's since
+        boolean truncated = rows.size() == limit && feed.changes().size() == rows.size();
+        for (Waiter waiter : parked) {
+            List<MovieChangeEntry> changes = new ArrayList<>();
+            for (MovieChangeEntry change : feed.changes()) {
+                if (change.seq() > waiter.since() && changes.size() < waiter.limit()) {
+                    changes.add(change);
+                }
+            }
+            if (!changes.isEmpty()) {
+                waiter.result().setResult(new MovieChangeFeed(changes, changes.get(changes.size() - 1).seq()));
+            } else if (truncated && feed.next() <= waiter.since()) {
+                complete(waiter);
+            }
+        }
+    }
+
+    private void complete(Waiter waiter) {
+        if (waiter.result().isSetOrExpired()) {
+            return;
+        }
+        MovieChangeFeed feed = read(waiter.since(), waiter.limit());
+        if (!feed.changes().isEmpty()) {
+            waiter.result().setResult(feed);
+        }
+    }
+
+    private Object[] toRow(MovieChangedEvent event) {
+        String payload = null;
+        if (event.movie() != null) {
+            try {
+                payload = objectMapper.writeValueAsString(event.movie());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new Object[]{event.movieId(), event.type().name(), payload, Timestamp.from(Instant.now())};
+    }
+}
@@ -0,0 +1,113 @@
+package com.real.interview.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the full catalog to an output stream one row at a time.
+ * Rows are read through {@link MovieRepository#streamAll()} and detached right after they are written,
+ * so heap usage does not grow with the size of the catalog. Buffered ratings are overlaid, as on the other reads.
+ */
+@Service
+public class MovieExportService {
+
+    private static final String CSV_HEADER = "id,title,genre,releaseYear,rating";
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieRatingBuffer ratingBuffer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Newline-delimited JSON, one movie object per line.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Movie.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<Movie> movies = movieRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<Movie> iterator = movies.iterator();
+            while (iterator.hasNext()) {
+                Movie movie = iterator.next();
+                writer.writeValue(generator, ratingBuffer.overlay(movie));
+                generator.writeRaw('\n');
+                entityManager.detach(movie);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long count = 0;
+        try (Stream<Movie> movies = movieRepository.streamAll()) {
+            Iterator<Movie> iterator = movies.iterator();
+            while (iterator.hasNext()) {
+                Movie movie = iterator.next();
+                writer.write(String.valueOf(movie.getId()));
+                writer.write(',');
+                writeCsvField(writer, movie.getTitle());
+                writer.write(',');
+                writeCsvField(writer, movie.getGenre());
+                writer.write(',');
+                writeCsvField(writer, movie.getReleaseYear());
+                writer.write(',');
+                writeCsvField(writer, ratingBuffer.overlay(movie).getRating());
+                writer.write("\r\n");
+                entityManager.detach(movie);
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
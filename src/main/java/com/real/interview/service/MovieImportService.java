@@ -0,0 +1,492 @@
+package com.real.interview.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.real.interview.dto.MovieImportStatus;
+import com.real.interview.dto.MovieIngestResult;
+import com.real.interview.entity.Movie;
+import com.real.interview.exception.ImportCapacityExceededException;
+import com.real.interview.exception.InvalidImportException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Background import of CSV or NDJSON catalog files (POST /api/movies/import).
+ * <p>
+ * Each job is a three-stage pipeline. A reader thread streams the file and cuts it into chunks of
+ * {@code movie.import.chunk-size} raw rows; the validation pool parses and validates chunks in parallel;
+ * the job thread takes the validated chunks in file order and writes each one as a single JDBC batch through
+ * {@link MovieIngestService#persist(List)}. At most {@code movie.import.queue-capacity} chunks are between the
+ * reader and the writer, so a slow database stops the reader instead of filling the heap.
+ * <p>
+ * All stages run on executors from Boot's {@link SimpleAsyncTaskExecutorBuilder}, so they use virtual threads
+ * when {@code spring.threads.virtual.enabled} is set. At most {@code movie.import.max-concurrent-jobs} jobs run
+ * and {@code movie.import.max-queued-jobs} more wait; further uploads are refused with
+ * {@link ImportCapacityExceededException} before anything is written to disk.
+ * <p>
+ * Ids in the file are ignored and assigned by the database, so an export or snapshot can be imported as-is.
+ * A row that fails to parse or validate is rejected on its own; a chunk that fails to insert rejects its rows.
+ */
+@Service
+public class MovieImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieImportService.class);
+
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    @Autowired
+    private MovieIngestService movieIngestService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${movie.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${movie.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${movie.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    private final ObjectReader csvReader = new CsvMapper()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .readerFor(Map.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    private final SimpleAsyncTaskExecutor jobExecutor;
+    private final SimpleAsyncTaskExecutor readerExecutor;
+    private final SimpleAsyncTaskExecutor validationExecutor;
+
+    // Permits for running jobs, and for running plus waiting ones
+    private final Semaphore runningJobs;
+    private final Semaphore admittedJobs;
+    private final int maxAdmittedJobs;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public MovieImportService(SimpleAsyncTaskExecutorBuilder executorBuilder,
+                              @Value("${movie.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                              @Value("${movie.import.max-queued-jobs:4}") int maxQueuedJobs,
+                              @Value("${movie.import.validation-threads:0}") int validationThreads) {
+        jobExecutor = executor(executorBuilder, "movie-import-");
+        readerExecutor = executor(executorBuilder, "movie-import-reader-");
+        validationExecutor = executor(executorBuilder, "movie-import-validate-");
+        // Submitting a chunk blocks the reader while every validation thread is busy
+        validationExecutor.setConcurrencyLimit(validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors());
+        runningJobs = new Semaphore(maxConcurrentJobs);
+        maxAdmittedJobs = maxConcurrentJobs + maxQueuedJobs;
+        admittedJobs = new Semaphore(maxAdmittedJobs);
+    }
+
+    /**
+     * Copies the upload to a temporary file and queues the import; the returned status is QUEUED.
+     * Jobs beyond {@code movie.import.max-concurrent-jobs} wait for a running one to finish.
+     *
+     * @throws ImportCapacityExceededException when {@code movie.import.max-queued-jobs} jobs are already waiting
+     */
+    public MovieImportStatus start(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidImportException("file is empty");
+        }
+        Format format = detectFormat(file.getOriginalFilename(), file.getContentType());
+        if (!admittedJobs.tryAcquire()) {
+            throw new ImportCapacityExceededException(maxAdmittedJobs);
+        }
+        Path path = null;
+        Job job = null;
+        try {
+            path = Files.createTempFile("movie-import-", "." + format.name().toLowerCase(Locale.ROOT));
+            file.transferTo(path);
+
+            job = new Job(UUID.randomUUID().toString(), file.getOriginalFilename(), path, maxReportedRejections);
+            jobs.put(job.id, job);
+            pruneFinishedJobs();
+            Job queued = job;
+            jobExecutor.execute(() -> run(queued, format));
+            return job.status();
+        } catch (IOException | RuntimeException e) {
+            admittedJobs.release();
+            if (job != null) {
+                jobs.remove(job.id);
+            }
+            deleteQuietly(path);
+            if (e instanceof TaskRejectedException) {
+                throw new ImportCapacityExceededException(maxAdmittedJobs);
+            }
+            throw e;
+        }
+    }
+
+    public Optional<MovieImportStatus> getStatus(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::status);
+    }
+
+    static Format detectFormat(String fileName, String contentType) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")
+                || type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return Format.NDJSON;
+        }
+        throw new InvalidImportException("expected a .csv or .ndjson file, got " + fileName + " (" + contentType + ")");
+    }
+
+    private void run(Job job, Format format) {
+        if (!job.worker.compareAndSet(null, Thread.currentThread())) {
+            return; // abandoned by shutdown before it started
+        }
+        try {
+            runningJobs.acquire();
+            try {
+                runPipeline(job, job.file, format);
+            } finally {
+                runningJobs.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finished(MovieImportStatus.State.FAILED, "Import interrupted");
+        } finally {
+            admittedJobs.release();
+            deleteQuietly(job.file);
+        }
+        logger.info("Movie import {} of {} {}: {} rows, {} imported, {} rejected", job.id, job.fileName, job.state,
+                job.rowsRead.get(), job.imported.get(), job.rejected.get());
+    }
+
+    private void runPipeline(Job job, Path path, Format format) {
+        job.started();
+        BlockingQueue<CompletableFuture<ValidatedChunk>> pending = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> reader = readerExecutor.submit(() -> read(job, path, format, pending));
+        try {
+            while (true) {
+                ValidatedChunk chunk = pending.take().join();
+                if (chunk == ValidatedChunk.END) {
+                    break;
+                }
+                write(job, chunk);
+            }
+            job.finished(MovieImportStatus.State.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finished(MovieImportStatus.State.FAILED, "Import interrupted");
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            logger.error("Movie import {} of {} failed", job.id, job.fileName, cause);
+            job.finished(MovieImportStatus.State.FAILED, cause.getMessage());
+        } finally {
+            reader.cancel(true);
+        }
+    }
+
+    /**
+     * Reader stage: cuts the file into chunks of raw rows and hands each to the validation pool.
+     * Blocks while the queue to the writer is full. Always ends the queue with END or a failed future.
+     */
+    private void read(Job job, Path path, Format format, BlockingQueue<CompletableFuture<ValidatedChunk>> pending) {
+        try {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                Iterator<?> rows = format == Format.CSV ? csvReader.readValues(reader) : nonBlankLines(reader);
+                List<Object> chunk = new ArrayList<>(chunkSize);
+                int index = 0;
+                while (true) {
+                    Object row;
+                    try {
+                        if (!rows.hasNext()) {
+                            break;
+                        }
+                        row = rows.next();
+                    } catch (RuntimeException e) {
+                        // Malformed CSV: nothing after this point can be parsed reliably, keep what was read so far
+                        job.rowsRead.incrementAndGet();
+                        submit(chunk, index - chunk.size(), MovieIngestResult.failed(index, "Malformed input: " + e.getMessage()), pending);
+                        chunk = null;
+                        break;
+                    }
+                    job.rowsRead.incrementAndGet();
+                    chunk.add(row);
+                    index++;
+                    if (chunk.size() == chunkSize) {
+                        submit(chunk, index - chunk.size(), null, pending);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (chunk != null && !chunk.isEmpty()) {
+                    submit(chunk, index - chunk.size(), null, pending);
+                }
+                if (rows instanceof MappingIterator<?> mappingIterator) {
+                    mappingIterator.close();
+                }
+            }
+            pending.put(CompletableFuture.completedFuture(ValidatedChunk.END));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            try {
+                pending.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void submit(List<Object> rows, int firstIndex, MovieIngestResult malformed,
+                        BlockingQueue<CompletableFuture<ValidatedChunk>> pending) throws InterruptedException {
+        pending.put(CompletableFuture.supplyAsync(() -> validate(rows, firstIndex, malformed), validationExecutor));
+    }
+
+    /**
+     * Validation stage: turns raw rows (CSV records or NDJSON lines) into movies and checks them.
+     */
+    private ValidatedChunk validate(List<Object> rows, int firstIndex, MovieIngestResult malformed) {
+        ValidatedChunk chunk = new ValidatedChunk(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            int index = firstIndex + i;
+            Movie movie;
+            try {
+                movie = toMovie(rows.get(i));
+            } catch (IllegalArgumentException | IOException e) {
+                chunk.rejected.add(MovieIngestResult.failed(index, e.getMessage()));
+                continue;
+            }
+            String error = MovieIngestService.validate(movie);
+            if (error != null) {
+                chunk.rejected.add(MovieIngestResult.failed(index, error));
+            } else {
+                chunk.movies.add(movie);
+                chunk.indexes.add(index);
+            }
+        }
+        if (malformed != null) {
+            chunk.rejected.add(malformed);
+        }
+        return chunk;
+    }
+
+    /**
+     * Writer stage: one transaction and one JDBC batch per chunk.
+     */
+    private void write(Job job, ValidatedChunk chunk) {
+        if (!chunk.movies.isEmpty()) {
+            try {
+                movieIngestService.persist(chunk.movies);
+                job.imported.addAndGet(chunk.movies.size());
+            } catch (RuntimeException e) {
+                logger.error("Movie import {} chunk of {} movies rolled back", job.id, chunk.movies.size(), e);
+                for (Integer index : chunk.indexes) {
+                    job.reject(MovieIngestResult.failed(index, "Chunk rolled back: " + e.getMessage()));
+                }
+            }
+        }
+        chunk.rejected.forEach(job::reject);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Movie toMovie(Object row) throws IOException {
+        Movie movie;
+        if (row instanceof String line) {
+            movie = objectMapper.readValue(line, Movie.class);
+        } else {
+            Map<String, String> record = (Map<String, String>) row;
+            movie = new Movie();
+            movie.setTitle(emptyToNull(record.get("title")));
+            movie.setGenre(emptyToNull(record.get("genre")));
+            movie.setReleaseYear(parse(record.get("releaseYear"), "releaseYear", Integer::valueOf));
+            movie.setRating(parse(record.get("rating"), "rating", Double::valueOf));
+        }
+        if (movie != null) {
+            movie.setId(null);
+        }
+        return movie;
+    }
+
+    private static <T> T parse(String value, String column, Function<String, T> parser) {
+        if (emptyToNull(value) == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Movie " + column + " is not a number: " + value);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static Iterator<String> nonBlankLines(BufferedReader reader) {
+        return reader.lines().filter(line -> !line.isBlank()).iterator();
+    }
+
+    private void pruneFinishedJobs() {
+        List<Job> finished = jobs.values().stream().filter(job -> job.finishedAt != null).sorted(
+                (a, b) -> a.finishedAt.compareTo(b.finishedAt)).toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}", path, e);
+        }
+    }
+
+    private static SimpleAsyncTaskExecutor executor(SimpleAsyncTaskExecutorBuilder executorBuilder, String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = executorBuilder.threadNamePrefix(threadNamePrefix).build();
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    /**
+     * Interrupts running and waiting jobs, which delete their files on the way out,
+     * and fails the ones whose thread has not started yet.
+     */
+    @PreDestroy
+    void shutdown() {
+        for (Job job : jobs.values()) {
+            if (job.finishedAt != null) {
+                continue;
+            }
+            Thread worker = job.worker.compareAndExchange(null, Thread.currentThread());
+            if (worker == null) {
+                job.finished(MovieImportStatus.State.FAILED, "Import interrupted");
+                admittedJobs.release();
+                deleteQuietly(job.file);
+            } else {
+                worker.interrupt();
+            }
+        }
+        jobExecutor.close();
+        readerExecutor.close();
+        validationExecutor.close();
+    }
+
+    private static final class ValidatedChunk {
+
+        static final ValidatedChunk END = new ValidatedChunk(0);
+
+        final List<Movie> movies;
+        final List<Integer> indexes;
+        final List<MovieIngestResult> rejected = new ArrayList<>();
+
+        ValidatedChunk(int size) {
+            movies = new ArrayList<>(size);
+            indexes = new ArrayList<>(size);
+        }
+    }
+
+    private static final class Job {
+
+        final String id;
+        final String fileName;
+        final int maxReportedRejections;
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        // Guarded by itself
+        final List<MovieIngestResult> rejections = new ArrayList<>();
+        volatile MovieImportStatus.State state = MovieImportStatus.State.QUEUED;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+        // The thread running the job, or the shutdown thread if it got there first
+        final AtomicReference<Thread> worker = new AtomicReference<>();
+        final Path file;
+
+        Job(String id, String fileName, Path file, int maxReportedRejections) {
+            this.id = id;
+            this.fileName = fileName;
+            this.file = file;
+            this.maxReportedRejections = maxReportedRejections;
+        }
+
+        void started() {
+            startedAt = Instant.now();
+            state = MovieImportStatus.State.RUNNING;
+        }
+
+        void finished(MovieImportStatus.State finalState, String failure) {
+            error = failure;
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+
+        void reject(MovieIngestResult result) {
+            rejected.incrementAndGet();
+            synchronized (rejections) {
+                if (rejections.size() < maxReportedRejections) {
+                    rejections.add(result);
+                }
+            }
+        }
+
+        MovieImportStatus status() {
+            long done = imported.get() + rejected.get();
+            double rowsPerSecond = 0;
+            if (startedAt != null) {
+                long nanos = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toNanos();
+                rowsPerSecond = nanos > 0 ? done * 1e9 / nanos : 0;
+            }
+            List<MovieIngestResult> reported;
+            synchronized (rejections) {
+                reported = Collections.unmodifiableList(new ArrayList<>(rejections));
+            }
+            return new MovieImportStatus(id, fileName, state, rowsRead.get(), imported.get(), rejected.get(),
+                    rowsPerSecond, startedAt, finishedAt, error, reported);
+        }
+    }
+}
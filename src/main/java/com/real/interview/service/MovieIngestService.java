@@ -0,0 +1,154 @@
+package com.real.interview.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.real.interview.dto.MovieIngestReport;
+import com.real.interview.dto.MovieIngestResult;
+import com.real.interview.entity.Movie;
+import com.real.interview.event.MovieChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Batched write path for bulk catalog loads.
+ * Items are validated one by one, then persisted in chunks of {@code movie.ingest.chunk-size};
+ * every chunk runs in its own transaction and is sent to the database as a single JDBC batch.
+ * A failing chunk is rolled back on its own and does not affect the chunks before or after it.
+ */
+@Service
+public class MovieIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieIngestService.class);
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${movie.ingest.chunk-size:500}")
+    private int chunkSize;
+
+    public MovieIngestReport ingest(List<Movie> movies) {
+        return ingest(movies.iterator());
+    }
+
+    /**
+     * Reads newline-delimited JSON one movie at a time, so the request body is never held in memory as a whole.
+     */
+    public MovieIngestReport ingestNdjson(InputStream inputStream) throws IOException {
+        try (MappingIterator<Movie> movies = objectMapper.readerFor(Movie.class).readValues(inputStream)) {
+            return ingest(movies);
+        }
+    }
+
+    public MovieIngestReport ingest(Iterator<Movie> movies) {
+        List<MovieIngestResult> results = new ArrayList<>();
+        List<Movie> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+
+        int index = 0;
+        while (true) {
+            Movie movie;
+            try {
+                if (!movies.hasNext()) {
+                    break;
+                }
+                movie = movies.next();
+            } catch (RuntimeException e) {
+                // Malformed input: nothing after this point can be parsed reliably, keep what was read so far
+                results.add(MovieIngestResult.failed(index, "Malformed input: " + e.getMessage()));
+                break;
+            }
+
+            String error = validate(movie);
+            if (error != null) {
+                results.add(MovieIngestResult.failed(index, error));
+            } else {
+                results.add(null);
+                chunk.add(movie);
+                chunkIndexes.add(index);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, chunkIndexes, results);
+                }
+            }
+            index++;
+        }
+        writeChunk(chunk, chunkIndexes, results);
+
+        int created = (int) results.stream().filter(r -> r.status() == MovieIngestResult.Status.CREATED).count();
+        return new MovieIngestReport(created, results.size() - created, results);
+    }
+
+    private void writeChunk(List<Movie> chunk, List<Integer> chunkIndexes, List<MovieIngestResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            persist(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                results.set(chunkIndexes.get(i), MovieIngestResult.created(chunkIndexes.get(i), chunk.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Bulk ingest chunk of {} movies rolled back", chunk.size(), e);
+            for (Integer chunkIndex : chunkIndexes) {
+                results.set(chunkIndex, MovieIngestResult.failed(chunkIndex, "Chunk rolled back: " + e.getMessage()));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    /**
+     * Inserts already validated movies in one transaction, sent as a single JDBC batch; ids are set on the movies.
+     * Throws when the chunk was rolled back.
+     */
+    public void persist(List<Movie> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Movie movie : chunk) {
+                entityManager.persist(movie);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            // Transactional listeners receive these once the chunk has committed
+            for (Movie movie : chunk) {
+                eventPublisher.publishEvent(MovieChangedEvent.saved(movie));
+            }
+        });
+    }
+
+    static String validate(Movie movie) {
+        if (movie == null) {
+            return "Movie must not be null";
+        }
+        if (movie.getId() != null) {
+            return "Movie id is generated and must not be supplied";
+        }
+        if (movie.getTitle() == null || movie.getTitle().isBlank()) {
+            return "Movie title is required";
+        }
+        if (movie.getRating() != null && (movie.getRating() < 0 || movie.getRating() > 10)) {
+            return "Movie rating must be between 0 and 10";
+        }
+        return null;
+    }
+}
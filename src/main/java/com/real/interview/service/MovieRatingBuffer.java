@@ -0,0 +1,236 @@
+package com.real.interview.service;
+
+import com.real.interview.config.CacheConfig;
+import com.real.interview.config.HibernateCacheConfig;
+import com.real.interview.entity.Movie;
+import com.real.interview.event.MovieChangedEvent;
+import com.real.interview.exception.InvalidRatingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for rating-only updates (PUT /api/movies/{id}/rating).
+ * <p>
+ * Updates are kept in memory, last write per id wins, and are written by a periodic flush as JDBC
+ * batches of {@code movie.rating.batch-size} UPDATE statements. When more than
+ * {@code movie.rating.max-pending} ids are waiting, the submitting thread flushes itself, which bounds
+ * the buffer under sustained load. Reads overlay pending ratings through {@link #overlay(Movie)}.
+ * <p>
+ * A rating stays in the buffer until the batch that writes it has committed, and is then only removed when
+ * no newer rating replaced it in the meantime; a batch that fails stays buffered and is retried by the next flush.
+ * The buffer is flushed on shutdown; ratings still pending when the process dies are lost.
+ */
+@Service
+public class MovieRatingBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieRatingBuffer.class);
+
+    private static final String UPDATE_RATING =
+            "update movie set rating = ?, version = version + 1, last_modified = ? where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${movie.rating.batch-size:500}")
+    private int batchSize;
+
+    @Value("${movie.rating.max-pending:100000}")
+    private int maxPending;
+
+    private final ConcurrentHashMap<Long, Double> pending = new ConcurrentHashMap<>();
+
+    // Held while a batch is written, so discard() cannot interleave with the batch it would race
+    private final ReentrantLock batchLock = new ReentrantLock();
+
+    private Counter submitted;
+    private Counter written;
+
+    @PostConstruct
+    void registerMetrics() {
+        submitted = Counter.builder("movie.rating.updates").tag("stage", "submitted").register(meterRegistry);
+        written = Counter.builder("movie.rating.updates").tag("stage", "written").register(meterRegistry);
+        Gauge.builder("movie.rating.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void submit(long movieId, Double rating) {
+        if (rating == null || rating < 0 || rating > 10) {
+            throw new InvalidRatingException(rating);
+        }
+        pending.put(movieId, rating);
+        submitted.increment();
+        // The next lookup then goes through MovieService again and picks up the pending rating
+        Cache movies = cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+        if (movies != null) {
+            movies.evict(movieId);
+        }
+        if (pending.size() > maxPending) {
+            flush();
+        }
+    }
+
+    /**
+     * Drops a pending rating, for writes that replace the movie or its rating directly.
+     * Waits for a batch that is being written, so its older rating cannot land after the caller's UPDATE;
+     * call it before that UPDATE.
+     */
+    public void discard(long movieId) {
+        batchLock.lock();
+        try {
+            pending.remove(movieId);
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    public boolean isPending(long movieId) {
+        return pending.containsKey(movieId);
+    }
+
+    /**
+     * The buffered rating of a movie, or null when none is pending.
+     */
+    public Double pendingRating(long movieId) {
+        return pending.get(movieId);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * The movie as it will be once pending updates are written; a copy when a rating is pending, so
+     * cached instances are never modified.
+     */
+    public Movie overlay(Movie movie) {
+        Double rating = movie == null || movie.getId() == null ? null : pending.get(movie.getId());
+        if (rating == null) {
+            return movie;
+        }
+        Movie copy = movie.copy();
+        copy.setRating(rating);
+        return copy;
+    }
+
+    @Scheduled(fixedDelayString = "${movie.rating.flush-interval:1s}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (Long id : pending.keySet()) {
+            ids.add(id);
+            if (ids.size() == batchSize) {
+                write(ids);
+                ids.clear();
+            }
+        }
+        write(ids);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int count = pending.size();
+        flush();
+        logger.info("Flushed {} buffered rating updates on shutdown", count);
+    }
+
+    private void write(List<Long> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return;
+        }
+        batchLock.lock();
+        try {
+            List<Long> ids = new ArrayList<>(candidateIds.size());
+            List<Object[]> rows = new ArrayList<>(candidateIds.size());
+            Timestamp now = Timestamp.from(Instant.now());
+            for (Long id : candidateIds) {
+                // Read, not removed: the rating stays visible to reads until the batch has committed
+                Double rating = pending.get(id);
+                if (rating != null) {
+                    ids.add(id);
+                    rows.add(new Object[]{rating, now, id});
+                }
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    int[] updated = jdbcTemplate.batchUpdate(UPDATE_RATING, rows);
+                    // Published inside the transaction, so the change feed records commit together with the UPDATEs
+                    for (int i = 0; i < ids.size(); i++) {
+                        if (updated[i] == 0) {
+                            logger.debug("Dropped buffered rating for missing movie {}", ids.get(i));
+                            continue;
+                        }
+                        Movie changes = new Movie();
+                        changes.setRating((Double) rows.get(i)[0]);
+                        changes.setLastModified(now.toInstant());
+                        eventPublisher.publishEvent(MovieChangedEvent.patched(ids.get(i), changes));
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.error("Rating flush of {} movies rolled back, keeping them buffered for the next flush: {}",
+                        ids.size(), ids, e);
+                return;
+            }
+
+            // The UPDATEs bypass Hibernate and the lookup cache, so invalidate what they may hold once committed
+            Cache movies = cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+            for (Long id : ids) {
+                if (movies != null) {
+                    movies.evict(id);
+                }
+                entityManagerFactory.getCache().evict(Movie.class, id);
+            }
+            entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                    .evictQueryRegion(HibernateCacheConfig.MOVIE_QUERY_REGION);
+            // Only now leave the buffer, and only if no newer rating was submitted during the write
+            for (int i = 0; i < ids.size(); i++) {
+                pending.remove(ids.get(i), rows.get(i)[0]);
+            }
+            written.increment(rows.size());
+        } finally {
+            batchLock.unlock();
+        }
+    }
+}
@@ -1,15 +1,39 @@
 package com.real.interview.service;
 
 import ch.qos.logback.classic.spi.IThrowableProxy;
+import com.real.interview.config.CacheConfig;
+import com.real.interview.dto.CursorPage;
+import com.real.interview.dto.MovieField;
+import com.real.interview.dto.MovieFilter;
+import com.real.interview.dto.MovieVersion;
 import com.real.interview.entity.Movie;
+import com.real.interview.event.MovieChangedEvent;
+import com.real.interview.exception.InvalidCursorException;
+import com.real.interview.exception.InvalidFilterException;
 import com.real.interview.exception.MovieNotFoundException;
+import com.real.interview.exception.MovieVersionMismatchException;
+import com.real.interview.replica.MovieReadReplica;
 import com.real.interview.repository.MovieRepository;
+import com.real.interview.repository.MovieSpecifications;
+import com.real.interview.support.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class MovieService {
@@ -17,47 +41,298 @@ public class MovieService {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MovieRatingBuffer ratingBuffer;
+
+    // Present only with movie.replica.enabled=true
+    @Autowired(required = false)
+    private MovieReadReplica readReplica;
+
+    // Concurrent identical lookups (a trending title) share one database call, see SingleFlightMetrics.
+    // The shared result is a detached copy, since the entities belong to the leader's persistence context.
+    private final SingleFlight<Long, Movie> findByIdFlight = new SingleFlight<>("findById");
+    private final SingleFlight<SearchKey, List<Movie>> searchFlight = new SingleFlight<>("search");
+
+    private record SearchKey(String title, Integer releaseYear) {
+    }
+
     //CRUD method
     public List<Movie> findAll() {
-        return movieRepository.findAll();
+        return overlay(useReplica() ? readReplica.findAll() : movieRepository.findAll());
     }
 
     public Page<Movie> findAll(Pageable pageable) {
-        return movieRepository.findAll(pageable);
+        Page<Movie> page = useReplica() && readReplica.supports(pageable.getSort())
+                ? readReplica.findAll(pageable)
+                : movieRepository.findAll(pageable);
+        return ratingBuffer.pendingCount() == 0 ? page : page.map(ratingBuffer::overlay);
     }
 
+    /**
+     * Paged multi-criteria search, run as one SQL query built from {@link MovieSpecifications}.
+     */
+    public Page<Movie> filter(MovieFilter filter, Pageable pageable) {
+        validate(filter);
+        Page<Movie> page = movieRepository.findAll(MovieSpecifications.matching(filter), pageable);
+        return ratingBuffer.pendingCount() == 0 ? page : page.map(ratingBuffer::overlay);
+    }
 
+    private static void validate(MovieFilter filter) {
+        if (filter.minYear() != null && filter.maxYear() != null && filter.minYear() > filter.maxYear()) {
+            throw new InvalidFilterException("minYear is greater than maxYear");
+        }
+        if (filter.minRating() != null && filter.maxRating() != null && filter.minRating() > filter.maxRating()) {
+            throw new InvalidFilterException("minRating is greater than maxRating");
+        }
+        if (filter.genres() != null && filter.genres().stream().anyMatch(genre -> genre == null || genre.isBlank())) {
+            throw new InvalidFilterException("genre must not be blank");
+        }
+    }
+
+    public List<Movie> findByReleaseYear(Integer releaseYear) {
+        return overlay(useReplica() ? readReplica.findByReleaseYear(releaseYear) : movieRepository.findByReleaseYear(releaseYear));
+    }
+
+    public List<Movie> findByGenre(String genre) {
+        return overlay(useReplica() ? readReplica.findByGenre(genre) : movieRepository.findByGenre(genre));
+    }
+
+    /**
+     * Paged listing of only the requested fields, e.g. "id,title"; the SQL selects just those columns.
+     */
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        List<MovieField> requested = MovieField.parse(fields);
+        Page<Map<String, Object>> page = movieRepository.findAllFields(withIdForOverlay(requested), pageable);
+        overlayRatings(page.getContent(), requested);
+        return page;
+    }
+
+    /**
+     * Keyset pagination ordered by id. An empty cursor starts at the beginning of the catalog.
+     * One extra row is fetched to find out whether another page follows, instead of running a count query.
+     */
+    public CursorPage<Movie> findAfter(String cursor, int size) {
+        long afterId = decodeCursor(cursor);
+        List<Movie> movies = movieRepository.findPageAfter(afterId, Limit.of(size + 1));
+        boolean hasNext = movies.size() > size;
+        List<Movie> content = overlay(hasNext ? movies.subList(0, size) : movies);
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+        return new CursorPage<>(content, size, nextCursor, hasNext);
+    }
+
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("id:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith("id:")) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.parseLong(decoded.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+
+    @CachePut(cacheNames = CacheConfig.MOVIES_CACHE, key = "#result.id")
+    @Transactional
     public Movie save(Movie movie) {
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        eventPublisher.publishEvent(MovieChangedEvent.saved(savedMovie));
+        return savedMovie;
     }
 
+    /**
+     * Cached with {@code sync}: the cache loads each id once, and an eviction by a write that commits during the load
+     * discards the loaded movie instead of being overwritten by it. The single flight still coalesces lookups when
+     * the cache is disabled.
+     */
+    @Cacheable(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id", sync = true)
     public Movie findById(Long id) {
-        return movieRepository.findById(id).orElseThrow(() -> new MovieNotFoundException(id));
+        if (useReplica()) {
+            return ratingBuffer.overlay(readReplica.findById(id).orElseThrow(() -> new MovieNotFoundException(id)));
+        }
+        return ratingBuffer.overlay(findByIdFlight.execute(id,
+                () -> movieRepository.findById(id).map(Movie::copy).orElseThrow(() -> new MovieNotFoundException(id))));
+    }
+
+    /**
+     * Queues a rating-only update in the write-behind buffer; it is written by the next flush
+     * and visible to reads through this service right away.
+     */
+    public void updateRating(Long movieId, Double rating) {
+        ratingBuffer.submit(movieId, rating);
+    }
+
+    /**
+     * True while a buffered rating for the movie has not been written, so its stored version is not yet current.
+     */
+    public boolean hasPendingChanges(Long movieId) {
+        return ratingBuffer.isPending(movieId);
+    }
+
+    /**
+     * Version and modification time of a movie without loading it, for conditional requests.
+     */
+    public MovieVersion findVersionById(Long id) {
+        Optional<MovieVersion> version = useReplica() ? readReplica.findVersionById(id) : movieRepository.findVersionById(id);
+        return version.orElseThrow(() -> new MovieNotFoundException(id));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MOVIES_CACHE, key = "#movieId")
+    @Transactional
     public Movie updateMovieById(Long movieId, Movie movie) {
-        Movie currentMovie = movieRepository.findById(movieId).orElseThrow(() -> new MovieNotFoundException(movieId));
+        return updateMovieById(movieId, movie, null);
+    }
 
-        currentMovie.setTitle(movie.getTitle());
-        currentMovie.setReleaseYear(movie.getReleaseYear());
-        currentMovie.setRating(movie.getRating());
-        currentMovie.setReleaseYear(movie.getReleaseYear());
-        currentMovie.setGenre(movie.getGenre());
-       return movieRepository.save(currentMovie);
+    /**
+     * Replaces all fields of a movie with one UPDATE statement, which also returns the new version;
+     * no version means the movie did not exist. A non-null {@code expectedVersion} makes the update
+     * conditional (If-Match). The cached copy is evicted rather than replaced.
+     *
+     * @return the new state, including its new version
+     */
+    @CacheEvict(cacheNames = CacheConfig.MOVIES_CACHE, key = "#movieId")
+    @Transactional
+    public Movie updateMovieById(Long movieId, Movie movie, Long expectedVersion) {
+        ratingBuffer.discard(movieId);
+        Instant now = Movie.now();
+        Long version = movieRepository.updateMovieById(movieId, movie.getTitle(), Movie.normalizeTitle(movie.getTitle()),
+                movie.getGenre(), movie.getReleaseYear(), movie.getRating(), expectedVersion, now);
+        if (version == null) {
+            throw notUpdated(movieId, expectedVersion);
+        }
+
+        Movie updatedMovie = new Movie();
+        updatedMovie.setId(movieId);
+        updatedMovie.setTitle(movie.getTitle());
+        updatedMovie.setGenre(movie.getGenre());
+        updatedMovie.setReleaseYear(movie.getReleaseYear());
+        updatedMovie.setRating(movie.getRating());
+        updatedMovie.setTitleNormalized(Movie.normalizeTitle(movie.getTitle()));
+        updatedMovie.setVersion(version);
+        updatedMovie.setLastModified(now);
+        eventPublisher.publishEvent(MovieChangedEvent.saved(updatedMovie));
+        return updatedMovie;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.MOVIES_CACHE, key = "#movieId")
+    @Transactional
+    public boolean patchMovieById(Long movieId, Movie changes) {
+        return patchMovieById(movieId, changes, null);
+    }
+
+    /**
+     * Updates only the non-null fields of {@code changes} with one UPDATE statement,
+     * conditional on {@code expectedVersion} when it is not null.
+     * The cached copy is evicted rather than rebuilt, since the full row is never read.
+     *
+     * @return false when no movie has that id
+     */
+    @CacheEvict(cacheNames = CacheConfig.MOVIES_CACHE, key = "#movieId")
+    @Transactional
+    public boolean patchMovieById(Long movieId, Movie changes, Long expectedVersion) {
+        if (changes.getRating() != null) {
+            ratingBuffer.discard(movieId);
+        }
+        Instant now = Movie.now();
+        int updated = movieRepository.patchMovieById(movieId, changes.getTitle(), Movie.normalizeTitle(changes.getTitle()),
+                changes.getGenre(), changes.getReleaseYear(), changes.getRating(), expectedVersion, now);
+        if (updated == 0) {
+            if (expectedVersion != null && movieRepository.existsById(movieId)) {
+                throw new MovieVersionMismatchException(movieId, expectedVersion);
+            }
+            return false;
+        }
+        changes.setLastModified(now);
+        eventPublisher.publishEvent(MovieChangedEvent.patched(movieId, changes));
+        return true;
+    }
+
+    /**
+     * Tells a missing movie from a failed precondition; only runs on the failure path.
+     */
+    private RuntimeException notUpdated(Long movieId, Long expectedVersion) {
+        if (expectedVersion != null && movieRepository.existsById(movieId)) {
+            return new MovieVersionMismatchException(movieId, expectedVersion);
+        }
+        return new MovieNotFoundException(movieId);
     }
 
     public List<Movie> findByTitleAndReleaseYear(String title, Integer releaseYear) {
 
-        return movieRepository.findByTitleAndReleaseYear(title, releaseYear);
+        return overlay(searchFlight.execute(new SearchKey(title, releaseYear),
+                () -> movieRepository.findByTitleAndReleaseYear(title, releaseYear).stream().map(Movie::copy).toList()));
     }
 
+    public List<Map<String, Object>> findByTitleAndReleaseYear(String fields, String title, Integer releaseYear) {
+        List<MovieField> requested = MovieField.parse(fields);
+        List<Map<String, Object>> rows = movieRepository.findFieldsByTitleAndReleaseYear(withIdForOverlay(requested), title, releaseYear);
+        overlayRatings(rows, requested);
+        return rows;
+    }
+
+    /**
+     * The id is needed to find a buffered rating, so it is selected as well while ratings are pending.
+     */
+    private List<MovieField> withIdForOverlay(List<MovieField> requested) {
+        if (!requested.contains(MovieField.RATING) || requested.contains(MovieField.ID) || ratingBuffer.pendingCount() == 0) {
+            return requested;
+        }
+        List<MovieField> selected = new ArrayList<>(requested);
+        selected.add(MovieField.ID);
+        return selected;
+    }
+
+    /**
+     * Replaces the rating of projected rows that have a buffered rating, then drops an id that was not requested.
+     */
+    private void overlayRatings(List<Map<String, Object>> rows, List<MovieField> requested) {
+        if (!requested.contains(MovieField.RATING)) {
+            return;
+        }
+        for (Map<String, Object> row : rows) {
+            Object id = requested.contains(MovieField.ID) ? row.get("id") : row.remove("id");
+            Double rating = id == null ? null : ratingBuffer.pendingRating((Long) id);
+            if (rating != null) {
+                row.put("rating", rating);
+            }
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id")
+    @Transactional
     public boolean deleteById(Long id) {
-        if (!movieRepository.existsById(id)) {
+        ratingBuffer.discard(id);
+        if (movieRepository.deleteMovieById(id) == 0) {
             return false;
-
         }
-        movieRepository.deleteById(id);
+        eventPublisher.publishEvent(MovieChangedEvent.deleted(id));
         return true;
     }
 
+    /**
+     * Reads go to the in-memory replica once it is enabled and loaded, see {@link MovieReadReplica}.
+     */
+    private boolean useReplica() {
+        return readReplica != null && readReplica.isLoaded();
+    }
+
+    private List<Movie> overlay(List<Movie> movies) {
+        return ratingBuffer.pendingCount() == 0 ? movies : movies.stream().map(ratingBuffer::overlay).toList();
+    }
+
+    public List<SingleFlight<?, ?>> singleFlights() {
+        return List.of(findByIdFlight, searchFlight);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,280 @@
+package com.real.interview.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.real.interview.entity.Movie;
+import com.real.interview.event.MovieChangedEvent;
+import com.real.interview.repository.MovieRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized, pre-compressed full-catalog snapshot served by GET /api/movies/snapshot.
+ * <p>
+ * The catalog is split into segments of {@code movie.snapshot.segment-size} consecutive ids, and each
+ * segment is kept as its own gzip member of NDJSON lines. The snapshot file is the concatenation of the
+ * members, which is still a valid gzip stream. Writes only mark their segment dirty; a scheduled refresh
+ * re-renders just the dirty segments and publishes them as a new file per generation
+ * ({@code movies-<generation>.ndjson.gz}), so a download that started on one generation keeps reading the
+ * bytes of that generation. Replaced files are deleted {@code movie.snapshot.retain-for} after they were
+ * replaced, and all files (and the temporary directory) on shutdown.
+ * <p>
+ * The snapshot holds committed rows only: a buffered rating (MovieRatingBuffer) is not overlaid and shows up
+ * once its flush has committed, which marks the segment dirty like any other write.
+ */
+@Service
+public class MovieSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieSnapshotService.class);
+
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${movie.snapshot.segment-size:10000}")
+    private int segmentSize;
+
+    // Empty means a private temporary directory per application instance
+    @Value("${movie.snapshot.directory:}")
+    private String directoryName;
+
+    @Value("${movie.snapshot.retain-for:1m}")
+    private Duration retainFor;
+
+    private Path directory;
+    private boolean temporaryDirectory;
+
+    // Files of replaced generations, oldest first, guarded by this
+    private final Deque<RetiredFile> retiredFiles = new ArrayDeque<>();
+
+    // Compressed segments by segment number, guarded by this
+    private final TreeMap<Long, byte[]> segments = new TreeMap<>();
+    private final Set<Long> dirtySegments = ConcurrentHashMap.newKeySet();
+    private long renderedSegments;
+
+    private volatile Snapshot current;
+
+    /**
+     * A published snapshot file; generation increases with every refresh that changed something.
+     * The generation restarts with the process and differs between instances, so the file is identified by the
+     * SHA-256 of its bytes: the same catalog renders to the same bytes anywhere.
+     */
+    public record Snapshot(Path file, long generation, Instant createdAt, long size, String sha256) {
+
+        public String eTag() {
+            return "\"" + sha256 + "\"";
+        }
+    }
+
+    private record RetiredFile(Path file, Instant retiredAt) {
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        temporaryDirectory = directoryName.isEmpty();
+        directory = temporaryDirectory
+                ? Files.createTempDirectory("movie-snapshot")
+                : Files.createDirectories(Path.of(directoryName));
+    }
+
+    @PreDestroy
+    synchronized void shutdown() throws IOException {
+        for (RetiredFile retired : retiredFiles) {
+            Files.deleteIfExists(retired.file());
+        }
+        retiredFiles.clear();
+        if (current != null) {
+            Files.deleteIfExists(current.file());
+        }
+        if (temporaryDirectory) {
+            try (Stream<Path> leftovers = Files.list(directory)) {
+                for (Path leftover : (Iterable<Path>) leftovers::iterator) {
+                    Files.deleteIfExists(leftover);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * The latest snapshot, or null until the first one has been written.
+     */
+    public Snapshot current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        dirtySegments.clear();
+        segments.clear();
+        List<Movie> segment = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Movie> movies = movieRepository.streamAll()) {
+                Iterator<Movie> iterator = movies.iterator();
+                while (iterator.hasNext()) {
+                    Movie movie = iterator.next();
+                    entityManager.detach(movie);
+                    if (!segment.isEmpty() && segmentOf(movie.getId()) != segmentOf(segment.get(0).getId())) {
+                        segments.put(segmentOf(segment.get(0).getId()), render(segment));
+                        segment.clear();
+                    }
+                    segment.add(movie);
+                }
+            }
+        });
+        if (!segment.isEmpty()) {
+            segments.put(segmentOf(segment.get(0).getId()), render(segment));
+        }
+        publish();
+        logger.info("Movie snapshot written: {} segments, {} bytes", segments.size(), current.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        dirtySegments.add(segmentOf(event.movieId()));
+    }
+
+    /**
+     * Re-renders the segments touched since the last refresh and publishes a new file.
+     * Runs on a fixed delay, so a burst of writes results in a single refresh.
+     */
+    @Scheduled(fixedDelayString = "${movie.snapshot.refresh-delay:5s}", initialDelayString = "${movie.snapshot.refresh-delay:5s}")
+    public synchronized void refresh() {
+        deleteRetiredFiles();
+        if (current == null || dirtySegments.isEmpty()) {
+            return;
+        }
+        for (Iterator<Long> iterator = dirtySegments.iterator(); iterator.hasNext(); ) {
+            long segment = iterator.next();
+            // Removed before reading, so a write that commits meanwhile marks the segment dirty again
+            iterator.remove();
+            List<Movie> movies = movieRepository.findIdRange(segment * segmentSize, (segment + 1) * segmentSize);
+            if (movies.isEmpty()) {
+                segments.remove(segment);
+            } else {
+                segments.put(segment, render(movies));
+            }
+        }
+        publish();
+        logger.debug("Movie snapshot refreshed, generation {}", current.generation());
+    }
+
+    synchronized long renderedSegments() {
+        return renderedSegments;
+    }
+
+    private long segmentOf(long id) {
+        return id / segmentSize;
+    }
+
+    private byte[] render(List<Movie> movies) {
+        renderedSegments++;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(movies.size() * 32 + 64);
+        ObjectWriter writer = objectMapper.writerFor(Movie.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip)) {
+            for (Movie movie : movies) {
+                writer.writeValue(generator, movie);
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void publish() {
+        long generation = current == null ? 1 : current.generation() + 1;
+        Path file = directory.resolve("movies-" + generation + ".ndjson.gz");
+        try {
+            Path temporary = Files.createTempFile(directory, "movies", ".tmp");
+            long size = 0;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temporary), digest)) {
+                if (segments.isEmpty()) {
+                    byte[] empty = render(List.of());
+                    out.write(empty);
+                    size = empty.length;
+                }
+                for (Map.Entry<Long, byte[]> segment : segments.entrySet()) {
+                    out.write(segment.getValue());
+                    size += segment.getValue().length;
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Snapshot previous = current;
+            current = new Snapshot(file, generation, Instant.now(), size, HexFormat.of().formatHex(digest.digest()));
+            if (previous != null) {
+                retiredFiles.add(new RetiredFile(previous.file(), current.createdAt()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        deleteRetiredFiles();
+    }
+
+    /**
+     * Deletes replaced files once no download that started before their replacement can still need them.
+     */
+    private void deleteRetiredFiles() {
+        Instant cutoff = Instant.now().minus(retainFor);
+        while (!retiredFiles.isEmpty() && !retiredFiles.peekFirst().retiredAt().isAfter(cutoff)) {
+            Path file = retiredFiles.removeFirst().file();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete replaced snapshot file {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.real.interview.stats;
+
+import com.real.interview.dto.GenreYearAggregate;
+import com.real.interview.dto.MovieGroupStats;
+import com.real.interview.dto.MovieStats;
+import com.real.interview.entity.Movie;
+import com.real.interview.event.MovieChangedEvent;
+import com.real.interview.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory count and rating sum per (genre, releaseYear), the source of GET /api/movies/stats.
+ * <p>
+ * Built by a streaming scan at startup and then kept up to date from {@link MovieChangedEvent}s. The
+ * genre, year and rating each movie contributed are remembered, so an update or delete can take
+ * exactly that contribution back out. Reads return a snapshot that is only rebuilt after a change,
+ * from the groups rather than the movies, so serving it does not depend on the catalog size.
+ * <p>
+ * A scheduled job compares the counters with a SQL GROUP BY and rebuilds them on any difference.
+ */
+@Component
+public class MovieStatsCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieStatsCounters.class);
+
+    // Ratings are summed incrementally, so allow for floating point drift when reconciling
+    private static final double RATING_SUM_TOLERANCE = 1e-6;
+
+    private static final Comparator<String> GENRE_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Integer> YEAR_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<GroupKey> GROUP_ORDER = Comparator
+            .comparing(GroupKey::genre, GENRE_ORDER)
+            .thenComparing(GroupKey::releaseYear, YEAR_ORDER);
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Replaced as a whole by load(), guarded by this
+    private Counters counters = new Counters();
+
+    // Writes applied while load() scans, replayed onto the new counters before they are swapped in; null otherwise
+    private List<Consumer<Counters>> replay;
+
+    private final Object loadLock = new Object();
+
+    // Cleared on every change and rebuilt by the next read
+    private volatile MovieStats snapshot;
+
+    private record Contribution(String genre, Integer releaseYear, Double rating) {
+    }
+
+    private record GroupKey(String genre, Integer releaseYear) {
+    }
+
+    private static final class Bucket {
+        long count;
+        long ratedCount;
+        double ratingSum;
+
+        void add(Bucket other) {
+            count += other.count;
+            ratedCount += other.ratedCount;
+            ratingSum += other.ratingSum;
+        }
+    }
+
+    /**
+     * The contribution of each movie and the buckets they add up to.
+     */
+    private static final class Counters {
+        final Map<Long, Contribution> contributions = new HashMap<>();
+        final Map<GroupKey, Bucket> buckets = new HashMap<>();
+
+        void put(long id, String genre, Integer releaseYear, Double rating) {
+            remove(id);
+            contributions.put(id, new Contribution(genre, releaseYear, rating));
+            Bucket bucket = buckets.computeIfAbsent(new GroupKey(genre, releaseYear), key -> new Bucket());
+            bucket.count++;
+            if (rating != null) {
+                bucket.ratedCount++;
+                bucket.ratingSum += rating;
+            }
+        }
+
+        void patch(long id, Movie changes) {
+            Contribution current = contributions.get(id);
+            if (current == null) {
+                // Not seen yet; the next reconciliation picks it up
+                return;
+            }
+            put(id,
+                    changes.getGenre() != null ? changes.getGenre() : current.genre(),
+                    changes.getReleaseYear() != null ? changes.getReleaseYear() : current.releaseYear(),
+                    changes.getRating() != null ? changes.getRating() : current.rating());
+        }
+
+        void remove(long id) {
+            Contribution contribution = contributions.remove(id);
+            if (contribution == null) {
+                return;
+            }
+            GroupKey key = new GroupKey(contribution.genre(), contribution.releaseYear());
+            Bucket bucket = buckets.get(key);
+            bucket.count--;
+            if (contribution.rating() != null) {
+                bucket.ratedCount--;
+                bucket.ratingSum -= contribution.rating();
+            }
+            if (bucket.count == 0) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Scans the table into new counters without holding the monitor, so writes and reads carry on meanwhile.
+     * Writes that arrive during the scan are applied to the current counters and replayed onto the new ones;
+     * replaying a write the scan already saw leaves the same state.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (loadLock) {
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            Counters loaded = new Counters();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<Movie> movies = movieRepository.streamAll()) {
+                        movies.forEach(movie -> {
+                            loaded.put(movie.getId(), movie.getGenre(), movie.getReleaseYear(), movie.getRating());
+                            entityManager.detach(movie);
+                        });
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    replay = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                replay.forEach(write -> write.accept(loaded));
+                replay = null;
+                counters = loaded;
+                snapshot = null;
+            }
+            logger.info("Movie statistics loaded {} movies in {} groups", loaded.contributions.size(), loaded.buckets.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        switch (event.type()) {
+            case DELETED -> remove(event.movieId());
+            case PATCHED -> patch(event.movieId(), event.movie());
+            default -> put(event.movieId(), event.movie().getGenre(), event.movie().getReleaseYear(), event.movie().getRating());
+        }
+    }
+
+    public void put(long id, String genre, Integer releaseYear, Double rating) {
+        apply(counters -> counters.put(id, genre, releaseYear, rating));
+    }
+
+    /**
+     * Applies a partial update: null fields of {@code changes} keep their current value.
+     */
+    public void patch(long id, Movie changes) {
+        apply(counters -> counters.patch(id, changes));
+    }
+
+    public void remove(long id) {
+        apply(counters -> counters.remove(id));
+    }
+
+    private synchronized void apply(Consumer<Counters> write) {
+        write.accept(counters);
+        if (replay != null) {
+            replay.add(write);
+        }
+        snapshot = null;
+    }
+
+    public MovieStats stats() {
+        MovieStats current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = buildSnapshot();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Compares the counters with a GROUP BY over the table and rebuilds them when they differ.
+     * A write that commits while the query runs can cause a spurious mismatch; the rebuild is then merely redundant.
+     *
+     * @return true when the counters matched
+     */
+    @Scheduled(fixedDelayString = "${movie.stats.reconcile-interval:10m}", initialDelayString = "${movie.stats.reconcile-interval:10m}")
+    public boolean reconcile() {
+        List<GenreYearAggregate> aggregates = movieRepository.aggregateByGenreAndReleaseYear();
+        if (matches(aggregates)) {
+            logger.debug("Movie statistics match the database ({} groups)", aggregates.size());
+            return true;
+        }
+        logger.warn("Movie statistics drifted from the database, rebuilding");
+        load();
+        return false;
+    }
+
+    synchronized boolean matches(List<GenreYearAggregate> aggregates) {
+        if (aggregates.size() != counters.buckets.size()) {
+            return false;
+        }
+        for (GenreYearAggregate aggregate : aggregates) {
+            Bucket bucket = counters.buckets.get(new GroupKey(aggregate.genre(), aggregate.releaseYear()));
+            double ratingSum = aggregate.ratingSum() == null ? 0 : aggregate.ratingSum();
+            if (bucket == null
+                    || bucket.count != aggregate.count()
+                    || bucket.ratedCount != aggregate.ratedCount()
+                    || Math.abs(bucket.ratingSum - ratingSum) > RATING_SUM_TOLERANCE * Math.max(1, Math.abs(ratingSum))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private MovieStats buildSnapshot() {
+        Bucket total = new Bucket();
+        Map<String, Bucket> byGenre = new TreeMap<>(GENRE_ORDER);
+        Map<Integer, Bucket> byYear = new TreeMap<>(YEAR_ORDER);
+        Map<GroupKey, Bucket> byGroup = new TreeMap<>(GROUP_ORDER);
+        counters.buckets.forEach((key, bucket) -> {
+            total.add(bucket);
+            byGenre.computeIfAbsent(key.genre(), genre -> new Bucket()).add(bucket);
+            byYear.computeIfAbsent(key.releaseYear(), year -> new Bucket()).add(bucket);
+            byGroup.put(key, bucket);
+        });
+        return new MovieStats(total.count, average(total),
+                groups(byGenre, genre -> new GroupKey(genre, null)),
+                groups(byYear, year -> new GroupKey(null, year)),
+                groups(byGroup, Function.identity()));
+    }
+
+    private static <K> List<MovieGroupStats> groups(Map<K, Bucket> buckets, Function<K, GroupKey> toKey) {
+        List<MovieGroupStats> groups = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> {
+            GroupKey groupKey = toKey.apply(key);
+            groups.add(new MovieGroupStats(groupKey.genre(), groupKey.releaseYear(), bucket.count, average(bucket)));
+        });
+        return List.copyOf(groups);
+    }
+
+    private static Double average(Bucket bucket) {
+        return bucket.ratedCount == 0 ? null : bucket.ratingSum / bucket.ratedCount;
+    }
+}
@@ -0,0 +1,51 @@
+package com.real.interview.support;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used for posting lists and row ordinals without boxing.
+ */
+public final class IntList {
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(4);
+    }
+
+    public IntList(int initialCapacity) {
+        values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Binary search in [from, size) of a list kept in ascending order.
+     * Same contract as {@link Arrays#binarySearch(int[], int, int, int)}.
+     */
+    public int binarySearch(int from, int value) {
+        return Arrays.binarySearch(values, from, size, value);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,126 @@
+package com.real.interview.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Dictionary encoding of strings as dense int codes, so a column of strings is stored as an int[].
+ * Codes are assigned in insertion order and never reused; null is encoded as {@link #NULL}.
+ * <p>
+ * Values are kept as UTF-8 in one shared byte array and found through an open-addressing table of codes,
+ * so an entry costs its bytes plus about 12 bytes instead of a String and a HashMap node.
+ * {@link #decode(int)} therefore allocates a new String on every call.
+ */
+public final class StringDictionary {
+
+    public static final int NULL = -1;
+
+    private byte[] bytes = new byte[1024];
+    private int used;
+    // offsets[code] .. offsets[code + 1] is the value of code
+    private int[] offsets = new int[17];
+    private int size;
+    // code + 1 per slot, 0 when free
+    private int[] table = new int[32];
+
+    /**
+     * Code of {@code value}, adding it to the dictionary when it is new.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int slot = slot(utf8);
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+        if (used + utf8.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, used + utf8.length));
+        }
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        System.arraycopy(utf8, 0, bytes, used, utf8.length);
+        used += utf8.length;
+        int code = size++;
+        offsets[size] = used;
+        table[slot] = code + 1;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    /**
+     * Code of {@code value}, or {@link #NULL} when it is null or not in the dictionary.
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        return table[slot(value.getBytes(StandardCharsets.UTF_8))] - 1;
+    }
+
+    public String decode(int code) {
+        if (code == NULL) {
+            return null;
+        }
+        return new String(bytes, offsets[code], offsets[code + 1] - offsets[code], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Orders two codes by their values without decoding them (UTF-8 byte order, which is code point order).
+     */
+    public int compare(int code, int otherCode) {
+        return Arrays.compareUnsigned(bytes, offsets[code], offsets[code + 1],
+                bytes, offsets[otherCode], offsets[otherCode + 1]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long estimatedBytes() {
+        return 16 + bytes.length + offsets.length * 4L + table.length * 4L;
+    }
+
+    /**
+     * Slot holding {@code utf8}, or the free slot where it belongs.
+     */
+    private int slot(byte[] utf8) {
+        int mask = table.length - 1;
+        int slot = Arrays.hashCode(utf8) * 0x9E3779B9 >>> 1 & mask;
+        while (table[slot] != 0) {
+            int code = table[slot] - 1;
+            if (Arrays.equals(bytes, offsets[code], offsets[code + 1], utf8, 0, utf8.length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        int[] old = table;
+        table = new int[old.length * 2];
+        int mask = table.length - 1;
+        for (int entry : old) {
+            if (entry == 0) {
+                continue;
+            }
+            int code = entry - 1;
+            int from = offsets[code];
+            int to = offsets[code + 1];
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            int slot = hash * 0x9E3779B9 >>> 1 & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry;
+        }
+    }
+}
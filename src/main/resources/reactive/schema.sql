@@ -0,0 +1,15 @@
+-- Same columns and indexes that Hibernate generates for Movie; ids come from an identity column instead of movie_seq
+CREATE TABLE IF NOT EXISTS movie (
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title            VARCHAR(255),
+    genre            VARCHAR(255),
+    release_year     INTEGER,
+    rating           DOUBLE PRECISION,
+    title_normalized VARCHAR(255),
+    version          BIGINT,
+    last_modified    TIMESTAMP(6) WITH TIME ZONE
+);
+CREATE INDEX IF NOT EXISTS idx_movie_title_release_year ON movie (title, release_year);
+CREATE INDEX IF NOT EXISTS idx_movie_release_year ON movie (release_year);
+CREATE INDEX IF NOT EXISTS idx_movie_genre ON movie (genre);
+CREATE INDEX IF NOT EXISTS idx_movie_title_normalized ON movie (title_normalized);
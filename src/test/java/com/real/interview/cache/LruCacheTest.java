@@ -0,0 +1,65 @@
+package com.real.interview.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void put_EvictsLeastRecentlyUsedEntryWhenFull() {
+        LruCache cache = new LruCache("movies", 2, Duration.ofMinutes(1));
+        cache.put(1L, "Heat");
+        cache.put(2L, "Ronin");
+
+        // Touch 1 so that 2 becomes the eldest entry
+        assertNotNull(cache.get(1L));
+        cache.put(3L, "Thief");
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void get_ExpiresEntriesAfterTtl() throws InterruptedException {
+        LruCache cache = new LruCache("movies", 10, Duration.ofMillis(10));
+        cache.put(1L, "Heat");
+
+        Thread.sleep(20);
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_WithLoader_LoadsOnceAndCountsHitsAndMisses() {
+        LruCache cache = new LruCache("movies", 10, Duration.ofMinutes(1));
+
+        assertEquals("Heat", cache.get(1L, () -> "Heat"));
+        assertEquals("Heat", cache.get(1L, () -> "Other"));
+
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.putCount());
+    }
+
+    @Test
+    void get_WithLoader_DoesNotCacheWhatWasLoadedAcrossAnEviction() {
+        LruCache cache = new LruCache("movies", 10, Duration.ofMinutes(1));
+
+        // A write evicts the movie while the lookup is still reading the old row
+        assertEquals("Heat", cache.get(1L, () -> {
+            cache.evict(1L);
+            return "Heat";
+        }));
+
+        assertNull(cache.get(1L));
+        assertEquals("Heat (Director's Cut)", cache.get(1L, () -> "Heat (Director's Cut)"));
+        assertNotNull(cache.get(1L));
+    }
+}
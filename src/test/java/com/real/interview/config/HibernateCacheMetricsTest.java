@@ -0,0 +1,49 @@
+package com.real.interview.config;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that movie.l2cache.statistics.enabled=true publishes the second-level and query cache meters on actuator.
+ */
+@SpringBootTest(properties = "movie.l2cache.statistics.enabled=true")
+@AutoConfigureMockMvc
+class HibernateCacheMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    void statisticsProperty_PublishesRegionMetricsOnActuator() throws Exception {
+        Movie movie = new Movie();
+        movie.setTitle("Heat");
+        movie.setReleaseYear(1995);
+        movie = movieRepository.save(movie);
+        movieRepository.findById(movie.getId());
+        movieRepository.findByReleaseYear(1995);
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.names", hasItems(
+                        "hibernate.second.level.cache.requests", "hibernate.cache.query.requests")));
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "region:" + HibernateCacheConfig.MOVIE_REGION))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[*].tag", hasItems("result")));
+        mockMvc.perform(get("/actuator/metrics/hibernate.cache.query.requests"))
+                .andExpect(status().isOk());
+    }
+}
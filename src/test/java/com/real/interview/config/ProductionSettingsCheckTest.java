@@ -0,0 +1,55 @@
+package com.real.interview.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application with the prod profile and checks it against the development-settings check.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProductionSettingsCheckTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void prodProfile_HasNoDevelopmentSettings() {
+        assertEquals(List.of(), ProductionSettingsCheck.findDevSettings(environment, false));
+    }
+
+    @Test
+    void prodProfile_EnlargesStatementCache() {
+        assertEquals("256", jdbcTemplate.queryForObject(
+                "select setting_value from information_schema.settings where setting_name = 'QUERY_CACHE_SIZE'", String.class));
+    }
+
+    @Test
+    void developmentSettings_AreReported() {
+        MockEnvironment devEnvironment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.generate_statistics", "true")
+                .withProperty("spring.h2.console.enabled", "true")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "create-drop")
+                .withProperty("spring.datasource.url", "jdbc:postgresql://db/movies");
+
+        List<String> devSettings = ProductionSettingsCheck.findDevSettings(devEnvironment, true);
+
+        assertEquals(8, devSettings.size(), devSettings.toString());
+        assertTrue(devSettings.stream().anyMatch(setting -> setting.startsWith("spring.jpa.show-sql")));
+        assertTrue(devSettings.stream().anyMatch(setting -> setting.contains("jdbc:postgresql://db/movies")));
+    }
+}
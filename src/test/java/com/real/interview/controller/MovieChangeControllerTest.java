@@ -0,0 +1,146 @@
+package com.real.interview.controller;
+
+import com.real.interview.dto.MovieChangeFeed;
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieChangeFeedService;
+import com.real.interview.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Change feed over the transactional outbox: ordering, long-poll wake-up and rolled back writes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MovieChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieChangeFeedService movieChangeFeedService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long since;
+
+    @BeforeEach
+    void setUp() {
+        since = jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from movie_change", Long.class);
+    }
+
+    private Movie createMovie(String title) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setGenre("Drama");
+        movie.setReleaseYear(1999);
+        movie.setRating(7.0);
+        return movie;
+    }
+
+    private MvcResult startPoll(long since, int wait) throws Exception {
+        return mockMvc.perform(get("/api/movies/changes").param("since", String.valueOf(since))
+                        .param("wait", String.valueOf(wait)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Test
+    void getChanges_ReturnsWritesInCommitOrderWithNextCursor() throws Exception {
+        Movie saved = movieService.save(createMovie("Magnolia"));
+        Movie patch = new Movie();
+        patch.setRating(8.0);
+        movieService.patchMovieById(saved.getId(), patch);
+        movieService.deleteById(saved.getId());
+
+        mockMvc.perform(asyncDispatch(startPoll(since, 0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(3)))
+                .andExpect(jsonPath("$.changes[0].changeType").value("SAVED"))
+                .andExpect(jsonPath("$.changes[0].payload.title").value("Magnolia"))
+                .andExpect(jsonPath("$.changes[1].changeType").value("PATCHED"))
+                .andExpect(jsonPath("$.changes[1].payload.rating").value(8.0))
+                .andExpect(jsonPath("$.changes[2].changeType").value("DELETED"))
+                .andExpect(jsonPath("$.changes[2].movieId").value(saved.getId()))
+                .andExpect(jsonPath("$.next").value(since + 3));
+    }
+
+    @Test
+    void getChanges_LongPollCompletesWhenAChangeCommits() throws Exception {
+        MvcResult poll = startPoll(since, 10);
+
+        Movie saved = movieService.save(createMovie("Rushmore"));
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].movieId").value(saved.getId()))
+                .andExpect(jsonPath("$.next").value(since + 1));
+    }
+
+    @Test
+    void getChanges_RolledBackWriteIsNeverPublished() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            movieService.save(createMovie("Never"));
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(asyncDispatch(startPoll(since, 0)))
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.next").value(since));
+
+        // Outbox rows are only inserted on commit, so a rollback does not even leave a gap in the sequence
+        Movie later = movieService.save(createMovie("Later"));
+        MovieChangeFeed feed = movieChangeFeedService.read(since, 10);
+        assertEquals(1, feed.changes().size());
+        assertEquals(later.getId(), feed.changes().get(0).movieId());
+        assertEquals(since + 1, feed.next());
+    }
+
+    @Test
+    void read_WaitsOutAGapFromWhenItWasFirstSeen() {
+        Movie first = movieService.save(createMovie("Gap"));
+        movieService.deleteById(first.getId());
+        // A missing row before an old one: the old createdAt must not make the gap look like a rollback
+        jdbcTemplate.update("delete from movie_change where seq = ?", since + 1);
+        jdbcTemplate.update("update movie_change set created_at = ? where seq = ?",
+                Timestamp.from(Instant.now().minusSeconds(3600)), since + 2);
+
+        assertEquals(0, movieChangeFeedService.read(since, 10).changes().size());
+
+        Duration gapTimeout = (Duration) ReflectionTestUtils.getField(movieChangeFeedService, "gapTimeout");
+        ReflectionTestUtils.setField(movieChangeFeedService, "gapTimeout", Duration.ZERO);
+        try {
+            MovieChangeFeed feed = movieChangeFeedService.read(since, 10);
+            assertEquals(1, feed.changes().size());
+            assertEquals(since + 2, feed.next());
+        } finally {
+            ReflectionTestUtils.setField(movieChangeFeedService, "gapTimeout", gapTimeout);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.real.interview.controller;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ETag / Last-Modified handling of the movie endpoints against the real database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MovieConditionalRequestTest {
+
+    private static final String MOVIE_URI = "/api/movies/{movieId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Movie saved;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = new Movie();
+        movie.setTitle("Heat");
+        movie.setGenre("Crime");
+        movie.setReleaseYear(1995);
+        saved = movieRepository.save(movie);
+    }
+
+    private String eTagOf(Long movieId) throws Exception {
+        return mockMvc.perform(get(MOVIE_URI, movieId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private double getStatements() {
+        DistributionSummary summary = meterRegistry.find("movie.sql.statements.per.request")
+                .tags("method", "GET", "uri", MOVIE_URI).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    @Test
+    void getMovieForId_WithMatchingETag_Returns304FromVersionQuery() throws Exception {
+        String eTag = eTagOf(saved.getId());
+        assertEquals("\"0\"", eTag);
+
+        double before = getStatements();
+        mockMvc.perform(get(MOVIE_URI, saved.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Only the version projection runs
+        assertEquals(1, getStatements() - before);
+    }
+
+    @Test
+    void getMovieForId_WithOldETagAfterBufferedRating_Returns200WithNewRating() throws Exception {
+        String eTag = eTagOf(saved.getId());
+
+        mockMvc.perform(put(MOVIE_URI + "/rating", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":9.1}"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get(MOVIE_URI, saved.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(9.1));
+    }
+
+    @Test
+    void putMovie_WithCurrentIfMatch_UpdatesAndReturnsNextETag() throws Exception {
+        String eTag = eTagOf(saved.getId());
+
+        mockMvc.perform(put(MOVIE_URI, saved.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995,\"rating\":8.3}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // The old ETag no longer matches, so the full movie is sent again
+        mockMvc.perform(get(MOVIE_URI, saved.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.rating").value(8.3));
+    }
+
+    @Test
+    void putMovie_WithIfMatchList_MatchesAnyListedStrongETag() throws Exception {
+        // Weak tags never satisfy If-Match
+        mockMvc.perform(put(MOVIE_URI, saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put(MOVIE_URI, saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"7\", W/\"1\", \"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995,\"rating\":8.3}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(patch(MOVIE_URI, saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\", \"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":7.0}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void putMovie_WithoutIfMatch_ReturnsTheNewETag() throws Exception {
+        mockMvc.perform(put(MOVIE_URI, saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995,\"rating\":8.3}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        assertEquals("\"1\"", eTagOf(saved.getId()));
+    }
+
+    @Test
+    void putMovie_WithStaleIfMatch_Returns412AndKeepsCurrentState() throws Exception {
+        mockMvc.perform(patch(MOVIE_URI, saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":7.0}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(put(MOVIE_URI, saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Lost update\",\"releaseYear\":1995}"))
+                .andExpect(status().isPreconditionFailed());
+
+        Movie reloaded = movieRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Heat", reloaded.getTitle());
+        assertEquals(1L, reloaded.getVersion());
+    }
+
+    @Test
+    void getAllMovie_WithMatchingETag_Returns304() throws Exception {
+        String eTag = mockMvc.perform(get("/api/movies?page=0&size=5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        mockMvc.perform(get("/api/movies?page=0&size=5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+}
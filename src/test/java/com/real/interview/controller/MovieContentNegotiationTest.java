@@ -0,0 +1,94 @@
+package com.real.interview.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.real.interview.entity.Movie;
+import com.real.interview.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Accept / Content-Type negotiation between JSON and the CBOR and Smile binary formats.
+ */
+@WebMvcTest(MovieController.class)
+class MovieContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MovieService movieService;
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    private Movie createMovie(Long id, String title) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setReleaseYear(1995);
+        movie.setGenre("Crime");
+        movie.setRating(8.3);
+        return movie;
+    }
+
+    @Test
+    void getMovie_DefaultsToJson() throws Exception {
+        when(movieService.findById(1L)).thenReturn(createMovie(1L, "Heat"));
+
+        mockMvc.perform(get("/api/movies/{movieId}", 1L).header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title", is("Heat")));
+    }
+
+    @Test
+    void getMovie_ReturnsCborWhenAccepted() throws Exception {
+        when(movieService.findById(1L)).thenReturn(createMovie(1L, "Heat"));
+
+        byte[] body = mockMvc.perform(get("/api/movies/{movieId}", 1L).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Movie movie = cborMapper.readValue(body, Movie.class);
+        assertEquals("Heat", movie.getTitle());
+        assertEquals(8.3, movie.getRating());
+    }
+
+    @Test
+    void createMovie_AcceptsSmileBodyAndRespondsInSmile() throws Exception {
+        when(movieService.save(any(Movie.class))).thenAnswer(invocation -> {
+            Movie movie = invocation.getArgument(0);
+            movie.setId(7L);
+            return movie;
+        });
+
+        byte[] body = mockMvc.perform(post("/api/movies")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(createMovie(null, "Heat"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Movie movie = smileMapper.readValue(body, Movie.class);
+        assertEquals(7L, movie.getId());
+        assertEquals("Heat", movie.getTitle());
+    }
+}
@@ -3,7 +3,12 @@ package com.real.interview.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.real.interview.dto.CursorPage;
+import com.real.interview.dto.MovieFilter;
 import com.real.interview.entity.Movie;
+import com.real.interview.exception.InvalidFieldsException;
+import com.real.interview.exception.InvalidFilterException;
+import com.real.interview.exception.MovieNotFoundException;
 import com.real.interview.service.MovieService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,9 +21,12 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -195,6 +203,28 @@ public class MovieControllerTwoTest {
                 .andExpect(jsonPath("$.totalElements", org.hamcrest.Matchers.is(3)));
     }
 
+    @Test
+    void getMoviesAfter_ShouldReturnCursorPageWithoutTotals() throws Exception {
+        List<Movie> pageContent = Arrays.asList(
+                createMovie(21L, "Alpha", 2000),
+                createMovie(22L, "Beta", 2001)
+        );
+        when(movieService.findAfter("abc", 2)).thenReturn(new CursorPage<>(pageContent, 2, "next", true));
+
+        mockMvc.perform(get("/api/movies")
+                        .param("after", "abc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id", is(21)))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        // The offset-based listing must not be used for cursor requests
+        verify(movieService, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void getMovieForId_ShouldReturn200AndMovie_WhenFound() throws Exception {
         Long movieId = 10L;
@@ -227,6 +257,18 @@ public class MovieControllerTwoTest {
         verify(movieService, times(1)).findById(movieId);
     }
 
+    @Test
+    void getMovieForId_ShouldReturn404Problem_WhenServiceThrowsNotFound() throws Exception {
+        when(movieService.findById(99L)).thenThrow(new MovieNotFoundException(99L));
+
+        mockMvc.perform(get("/api/movies/{movieId}", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.title").value("Not Found"))
+                .andExpect(jsonPath("$.detail").value("Movie not found"));
+    }
+
     // --- Search Endpoint Test ---
 
     @Test
@@ -267,6 +309,30 @@ public class MovieControllerTwoTest {
         verify(movieService, times(1)).findByTitleAndReleaseYear(title, year);
     }
 
+    // --- Patch Endpoint Tests ---
+
+    @Test
+    void patchMovie_ShouldReturn204NoContent_WhenPatched() throws Exception {
+        when(movieService.patchMovieById(eq(1L), any(Movie.class), isNull())).thenReturn(true);
+
+        mockMvc.perform(patch("/api/movies/{movieId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 7.9}"))
+                .andExpect(status().isNoContent());
+
+        verify(movieService, times(1)).patchMovieById(eq(1L), argThat(m -> m.getRating() == 7.9 && m.getTitle() == null), isNull());
+    }
+
+    @Test
+    void patchMovie_ShouldReturn404NotFound_WhenNotExists() throws Exception {
+        when(movieService.patchMovieById(eq(99L), any(Movie.class), isNull())).thenReturn(false);
+
+        mockMvc.perform(patch("/api/movies/{movieId}", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"genre\": \"Drama\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     // --- Delete Endpoint Tests ---
 
     @Test
@@ -297,6 +363,69 @@ public class MovieControllerTwoTest {
 
         verify(movieService, times(1)).deleteById(movieId);
     }
-}
 
+    @Test
+    void getAllMovieFields_ShouldReturnSlimEnvelope() throws Exception {
+        Map<String, Object> row = Map.of("id", 1, "title", "Inception");
+        Page<Map<String, Object>> page = new PageImpl<>(List.of(row), PageRequest.of(0, 1), 3);
+
+        when(movieService.findAll(eq("id,title"), any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/movies").param("fields", "id,title").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].title", is("Inception")))
+                .andExpect(jsonPath("$.totalElements", is(3)))
+                .andExpect(jsonPath("$.totalPages", is(3)))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    void getAllMovieFields_ShouldReturn400_WhenFieldIsUnknown() throws Exception {
+        when(movieService.findAll(eq("id,budget"), any(Pageable.class))).thenThrow(new InvalidFieldsException("budget"));
+
+        mockMvc.perform(get("/api/movies").param("fields", "id,budget"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("budget")));
+    }
+
+    @Test
+    void searchMovieFields_ShouldReturnRequestedFields() throws Exception {
+        when(movieService.findByTitleAndReleaseYear("id", "Inception", 2010)).thenReturn(List.of(Map.of("id", 1)));
+
+        mockMvc.perform(get("/api/movies/search").param("title", "Inception").param("year", "2010").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].title").doesNotExist());
+
+        verify(movieService, never()).findByTitleAndReleaseYear("Inception", 2010);
+    }
+
+    @Test
+    void filterMovies_ShouldPassAllCriteriaToService() throws Exception {
+        MovieFilter filter = new MovieFilter(1990, 1999, 8.0, null, List.of("Crime", "Drama"), "the");
+        Page<Movie> page = new PageImpl<>(List.of(createMovie(1L, "The Usual Suspects", 1995)), PageRequest.of(0, 20), 1);
+        when(movieService.filter(eq(filter), any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/movies/filter")
+                        .param("minYear", "1990").param("maxYear", "1999").param("minRating", "8")
+                        .param("genre", "Crime").param("genre", "Drama").param("title", "the")
+                        .param("sort", "rating,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title", is("The Usual Suspects")))
+                .andExpect(jsonPath("$.totalElements", is(1)));
 
+        verify(movieService).filter(eq(filter), argThat(pageable ->
+                pageable.getSort().equals(Sort.by(Sort.Direction.DESC, "rating"))));
+    }
+
+    @Test
+    void filterMovies_ShouldReturn400_WhenRangeIsEmpty() throws Exception {
+        when(movieService.filter(any(MovieFilter.class), any(Pageable.class)))
+                .thenThrow(new InvalidFilterException("minYear is greater than maxYear"));
+
+        mockMvc.perform(get("/api/movies/filter").param("minYear", "2000").param("maxYear", "1990"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("minYear")));
+    }
+}
@@ -0,0 +1,53 @@
+package com.real.interview.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MovieImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void importMovies_Returns202WithStatusLocation() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "movies.csv", "text/csv",
+                "title,genre,releaseYear,rating\nHeat,Crime,1995,8.3\n".getBytes(StandardCharsets.UTF_8));
+
+        String location = mockMvc.perform(multipart("/api/movies/import").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/movies/import/")))
+                .andExpect(jsonPath("$.fileName").value("movies.csv"))
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fileName").value("movies.csv"));
+    }
+
+    @Test
+    void importMovies_Returns400ForUnsupportedFormat() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "movies.txt", "text/plain", "Heat".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/movies/import").file(file))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getImport_Returns404ForUnknownJob() throws Exception {
+        mockMvc.perform(get("/api/movies/import/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,112 @@
+package com.real.interview.controller;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import com.real.interview.service.MovieSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshot download (full, ranged and conditional) and response compression, over a real Tomcat connector.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "movie.snapshot.refresh-delay=1h")
+class MovieSnapshotControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieSnapshotService movieSnapshotService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setGenre("Drama");
+            movie.setReleaseYear(1990 + i % 30);
+            movies.add(movie);
+        }
+        movieRepository.saveAll(movies);
+        movieSnapshotService.rebuild();
+    }
+
+    private HttpResponse<byte[]> get(String path, String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String gunzip(byte[] body) throws Exception {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void getSnapshot_ServesTheCompressedCatalog() throws Exception {
+        HttpResponse<byte[]> response = get("/api/movies/snapshot");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/gzip", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals(movieSnapshotService.current().size(), response.body().length);
+        assertEquals(100, gunzip(response.body()).split("\n").length);
+    }
+
+    @Test
+    void getSnapshot_AnswersRangeRequestsWithPartialContent() throws Exception {
+        byte[] full = get("/api/movies/snapshot").body();
+
+        HttpResponse<byte[]> head = get("/api/movies/snapshot", "Range", "bytes=0-99");
+        HttpResponse<byte[]> tail = get("/api/movies/snapshot", "Range", "bytes=100-");
+
+        assertEquals(206, head.statusCode());
+        assertEquals("bytes 0-99/" + full.length, head.headers().firstValue("Content-Range").orElseThrow());
+        assertArrayEquals(Arrays.copyOfRange(full, 0, 100), head.body());
+        assertEquals(206, tail.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(full, 100, full.length), tail.body());
+    }
+
+    @Test
+    void getSnapshot_ReturnsNotModifiedForTheCurrentGeneration() throws Exception {
+        String eTag = get("/api/movies/snapshot").headers().firstValue("ETag").orElseThrow();
+
+        assertEquals(304, get("/api/movies/snapshot", "If-None-Match", eTag).statusCode());
+    }
+
+    @Test
+    void getAllMovie_IsGzipCompressedWhenAccepted() throws Exception {
+        HttpResponse<byte[]> response = get("/api/movies?size=100", "Accept-Encoding", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+        assertTrue(gunzip(response.body()).contains("\"title\":\"Movie 99\""));
+    }
+}
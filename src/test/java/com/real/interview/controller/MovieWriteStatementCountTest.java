@@ -0,0 +1,107 @@
+package com.real.interview.controller;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts how many SQL statements the write endpoints issue per request,
+ * using the movie.sql.statements.per.request metric recorded by SqlMetricsFilter.
+ * A successful write also inserts its movie_change outbox row in the same transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MovieWriteStatementCountTest {
+
+    private static final String MOVIE_URI = "/api/movies/{movieId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private Movie saved;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = new Movie();
+        movie.setTitle("Heat");
+        movie.setGenre("Crime");
+        movie.setReleaseYear(1995);
+        movie.setRating(8.3);
+        saved = movieRepository.save(movie);
+    }
+
+    private double statementsFor(String method, RequestBuilder request, int expectedStatus) throws Exception {
+        DistributionSummary before = meterRegistry.find("movie.sql.statements.per.request")
+                .tags("method", method, "uri", MOVIE_URI).summary();
+        double totalBefore = before == null ? 0 : before.totalAmount();
+
+        mockMvc.perform(request).andExpect(status().is(expectedStatus));
+
+        return meterRegistry.get("movie.sql.statements.per.request")
+                .tags("method", method, "uri", MOVIE_URI).summary().totalAmount() - totalBefore;
+    }
+
+    @Test
+    void putMovie_IssuesSingleUpdateAndOutboxInsert() throws Exception {
+        double statements = statementsFor("PUT", put(MOVIE_URI, saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Heat (1995)\",\"genre\":\"Crime\",\"releaseYear\":1995,\"rating\":8.4}"), 200);
+
+        // write + outbox insert
+        assertEquals(2, statements);
+        Movie reloaded = movieRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Heat (1995)", reloaded.getTitle());
+        assertEquals("heat (1995)", reloaded.getTitleNormalized());
+        assertEquals(8.4, reloaded.getRating());
+    }
+
+    @Test
+    void patchMovie_IssuesSingleUpdateAndOutboxInsertAndKeepsOtherFields() throws Exception {
+        double statements = statementsFor("PATCH", patch(MOVIE_URI, saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\":9.0}"), 204);
+
+        // write + outbox insert
+        assertEquals(2, statements);
+        Movie reloaded = movieRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(9.0, reloaded.getRating());
+        assertEquals("Heat", reloaded.getTitle());
+        assertEquals("Crime", reloaded.getGenre());
+        assertEquals(1995, reloaded.getReleaseYear());
+    }
+
+    @Test
+    void deleteMovie_IssuesSingleDeleteAndOutboxInsert() throws Exception {
+        double statements = statementsFor("DELETE", delete(MOVIE_URI, saved.getId()), 204);
+
+        // write + outbox insert
+        assertEquals(2, statements);
+        assertFalse(movieRepository.existsById(saved.getId()));
+    }
+
+    @Test
+    void writesToMissingMovie_IssueSingleStatementAndReturn404() throws Exception {
+        assertEquals(1, statementsFor("PATCH", patch(MOVIE_URI, -1L)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"rating\":1.0}"), 404));
+        assertEquals(1, statementsFor("DELETE", delete(MOVIE_URI, -1L), 404));
+    }
+}
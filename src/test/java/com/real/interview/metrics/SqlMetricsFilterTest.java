@@ -0,0 +1,67 @@
+package com.real.interview.metrics;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that API requests publish SQL statement counts and latency histograms per endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlMetricsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = new Movie();
+        movie.setTitle("Heat");
+        movie.setReleaseYear(1995);
+        movieRepository.save(movie);
+    }
+
+    @Test
+    void listMovies_RecordsStatementsPerRequestForEndpoint() throws Exception {
+        DistributionSummary before = meterRegistry.find("movie.sql.statements.per.request")
+                .tags("method", "GET", "uri", "/api/movies").summary();
+        long countBefore = before == null ? 0 : before.count();
+        double totalBefore = before == null ? 0 : before.totalAmount();
+
+        mockMvc.perform(get("/api/movies")).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("movie.sql.statements.per.request")
+                .tags("method", "GET", "uri", "/api/movies").summary();
+        assertEquals(countBefore + 1, statements.count());
+        assertTrue(statements.totalAmount() - totalBefore >= 1);
+        assertNotNull(meterRegistry.find("movie.sql.time.per.request").tags("uri", "/api/movies").timer());
+    }
+
+    @Test
+    void listMovies_RecordsTimedOperation() throws Exception {
+        mockMvc.perform(get("/api/movies")).andExpect(status().isOk());
+
+        Timer timer = meterRegistry.get("movie.api.requests").tags("operation", "list").timer();
+        assertTrue(timer.count() >= 1);
+        assertNotNull(meterRegistry.find("movie.sql.execution").tags("type", "select").timer());
+    }
+}
@@ -0,0 +1,132 @@
+package com.real.interview.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end tests of the reactive variant against its own in-memory R2DBC database.
+ */
+@SpringBootTest(classes = ReactiveMovieApplication.class)
+@ActiveProfiles(ReactiveMovieApplication.PROFILE)
+@AutoConfigureWebTestClient
+class ReactiveMovieControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveMovieRepository movieRepository;
+
+    private ReactiveMovie saved;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll().block();
+        saved = movieRepository.saveAll(Flux.range(0, 5).map(i -> createMovie("Movie " + i, 2000 + i)))
+                .collectList().block().get(0);
+    }
+
+    private ReactiveMovie createMovie(String title, Integer year) {
+        ReactiveMovie movie = new ReactiveMovie();
+        movie.setTitle(title);
+        movie.setGenre("Drama");
+        movie.setReleaseYear(year);
+        movie.setRating(7.5);
+        return movie;
+    }
+
+    @Test
+    void createMovie_ShouldReturn201AndGeneratedId() {
+        webTestClient.post().uri("/api/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995,\"rating\":8.3}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.title").isEqualTo("Heat")
+                .jsonPath("$.titleNormalized").doesNotExist();
+    }
+
+    @Test
+    void getMovieForId_ShouldReturn404_WhenNotExists() {
+        webTestClient.get().uri("/api/movies/{movieId}", -1L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.detail").isEqualTo("Movie not found");
+    }
+
+    @Test
+    void getAllMovie_ShouldReturnPageWithTotals() {
+        webTestClient.get().uri("/api/movies?page=1&size=2&sort=title,desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].title").isEqualTo("Movie 2")
+                .jsonPath("$.totalElements").isEqualTo(5);
+    }
+
+    @Test
+    void getMoviesAfter_ShouldWalkTheCatalogByCursor() {
+        webTestClient.get().uri("/api/movies?after=&size=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(3)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.nextCursor").isNotEmpty();
+
+        webTestClient.get().uri("/api/movies?after=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void patchAndDelete_ShouldReturn204ThenReportMissingMovie() {
+        webTestClient.patch().uri("/api/movies/{movieId}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"rating\":9.1}")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        ReactiveMovie patched = movieRepository.findById(saved.getId()).block();
+        assertEquals(9.1, patched.getRating());
+        assertEquals("Movie 0", patched.getTitle());
+        assertEquals(saved.getVersion() + 1, patched.getVersion());
+        assertNotNull(patched.getLastModified());
+
+        webTestClient.delete().uri("/api/movies/{movieId}", saved.getId()).exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/movies/{movieId}", saved.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void exportMovies_ShouldStreamNdjsonInIdOrder() {
+        List<ReactiveMovie> movies = webTestClient.get().uri("/api/movies/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ReactiveMovie.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(5, movies.size());
+        assertEquals(saved.getId(), movies.get(0).getId());
+        assertEquals("Movie 4", movies.get(4).getTitle());
+    }
+}
@@ -0,0 +1,191 @@
+package com.real.interview.replica;
+
+import com.real.interview.config.CacheConfig;
+import com.real.interview.entity.Movie;
+import com.real.interview.exception.MovieNotFoundException;
+import com.real.interview.metrics.SqlStatementStats;
+import com.real.interview.repository.MovieRepository;
+import com.real.interview.service.MovieService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that MovieService reads served by the replica match the database and issue no SQL,
+ * and that writes through MovieService are reflected.
+ */
+@SpringBootTest(properties = "movie.replica.enabled=true")
+class MovieReadReplicaTest {
+
+    @Autowired
+    private MovieReadReplica movieReadReplica;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Movie heat;
+    private SqlStatementStats stats;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.MOVIES_CACHE).clear();
+        heat = movieRepository.save(createMovie("Heat", "Crime", 1995, 8.3));
+        movieRepository.save(createMovie("Casino", "Crime", 1995, null));
+        movieRepository.save(createMovie("Se7en", null, 1995, 8.6));
+        movieRepository.save(createMovie("Zodiac", "Thriller", null, 7.7));
+        movieRepository.save(createMovie("Alien", "Horror", 1979, 8.5));
+        movieReadReplica.load();
+        stats = SqlStatementStats.begin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.end();
+    }
+
+    private Movie createMovie(String title, String genre, Integer year, Double rating) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setGenre(genre);
+        movie.setReleaseYear(year);
+        movie.setRating(rating);
+        return movie;
+    }
+
+    @Test
+    void findById_ReturnsStoredStateWithoutSql() {
+        Movie movie = movieService.findById(heat.getId());
+
+        assertEquals(0, stats.statements());
+        assertEquals(heat.getTitle(), movie.getTitle());
+        assertEquals(heat.getRating(), movie.getRating());
+        assertEquals(heat.getVersion(), movie.getVersion());
+        assertThrows(MovieNotFoundException.class, () -> movieService.findById(-1L));
+    }
+
+    @Test
+    void filters_MatchTheRepositoryWithoutSql() {
+        List<Movie> byYear = movieService.findByReleaseYear(1995);
+        List<Movie> byGenre = movieService.findByGenre("Crime");
+        assertEquals(0, stats.statements());
+
+        assertEquals(movieRepository.findByReleaseYear(1995), byYear);
+        assertEquals(movieRepository.findByGenre("Crime"), byGenre);
+        assertTrue(movieService.findByGenre("Western").isEmpty());
+    }
+
+    @Test
+    void sortedPages_MatchTheDatabaseOrderIncludingNulls() {
+        // The replica breaks ties by id; the database only does so when asked
+        for (Sort sort : List.of(Sort.by("rating"), Sort.by(Sort.Direction.DESC, "rating"),
+                Sort.by("genre").and(Sort.by(Sort.Direction.DESC, "title")), Sort.by(Sort.Direction.DESC, "releaseYear"))) {
+            for (int page = 0; page < 3; page++) {
+                PageRequest pageRequest = PageRequest.of(page, 2, sort);
+                Page<Movie> fromReplica = movieService.findAll(pageRequest);
+                assertEquals(0, stats.statements(), sort::toString);
+
+                Page<Movie> fromDatabase = movieRepository.findAll(pageRequest.withSort(sort.and(Sort.by("id"))));
+                assertEquals(fromDatabase.getContent(), fromReplica.getContent(), sort::toString);
+                assertEquals(fromDatabase.getTotalElements(), fromReplica.getTotalElements());
+                stats = SqlStatementStats.begin();
+            }
+        }
+    }
+
+    @Test
+    void writesThroughMovieService_AreVisible() {
+        Movie patch = new Movie();
+        patch.setRating(9.0);
+        movieService.patchMovieById(heat.getId(), patch);
+        Movie saved = movieService.save(createMovie("Ronin", "Action", 1998, 7.2));
+        movieService.deleteById(heat.getId() + 1);
+
+        stats = SqlStatementStats.begin();
+        assertEquals(9.0, movieService.findById(heat.getId()).getRating());
+        assertEquals("Ronin", movieService.findById(saved.getId()).getTitle());
+        assertEquals(1, movieService.findByGenre("Crime").size());
+        assertEquals(0, stats.statements());
+
+        assertEquals(movieRepository.findById(heat.getId()).orElseThrow(), movieReadReplica.findById(heat.getId()).orElseThrow());
+        assertEquals(movieRepository.findById(saved.getId()).orElseThrow(), movieReadReplica.findById(saved.getId()).orElseThrow());
+    }
+
+    @Test
+    void sortedPages_StayInDatabaseOrderAcrossWrites() {
+        List<Sort> sorts = List.of(Sort.by("title"), Sort.by(Sort.Direction.DESC, "rating"),
+                Sort.by("releaseYear").and(Sort.by("genre")));
+        sorts.forEach(sort -> movieService.findAll(PageRequest.of(0, 10, sort)));
+
+        Movie patch = new Movie();
+        patch.setRating(1.0);
+        patch.setTitle("Ace");
+        movieService.patchMovieById(heat.getId(), patch);
+        movieService.save(createMovie("Manhunter", null, 1986, 7.2));
+        movieService.deleteById(heat.getId() + 4);
+
+        for (Sort sort : sorts) {
+            Page<Movie> fromReplica = movieService.findAll(PageRequest.of(0, 10, sort));
+            Page<Movie> fromDatabase = movieRepository.findAll(PageRequest.of(0, 10, sort.and(Sort.by("id"))));
+            assertEquals(fromDatabase.getContent(), fromReplica.getContent(), sort::toString);
+        }
+    }
+
+    @Test
+    void findVersionById_ComesFromTheReplica() {
+        stats = SqlStatementStats.begin();
+        assertEquals(heat.getVersion(), movieService.findVersionById(heat.getId()).version());
+        assertEquals(0, stats.statements());
+        assertThrows(MovieNotFoundException.class, () -> movieService.findVersionById(-1L));
+    }
+
+    @Test
+    void orderings_AreBoundedAndCountedInTheFootprint() {
+        long withoutOrderings = movieReadReplica.estimatedBytes();
+        for (String property : List.of("id", "title", "genre", "releaseYear", "rating")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                movieService.findAll(PageRequest.of(0, 2, Sort.by(direction, property)));
+            }
+        }
+
+        assertEquals(8, movieReadReplica.orderingCount());
+        assertTrue(movieReadReplica.estimatedBytes() > withoutOrderings);
+        assertFalse(movieReadReplica.supports(Sort.by("title", "title")));
+        assertFalse(movieReadReplica.supports(Sort.by("director")));
+        assertThrows(IllegalArgumentException.class,
+                () -> movieReadReplica.findAll(PageRequest.of(0, 2, Sort.by("title").and(Sort.by(Sort.Direction.DESC, "title")))));
+    }
+
+    @Test
+    void sortedPages_StayInDatabaseOrderAcrossManyRatingChanges() {
+        Sort byRating = Sort.by(Sort.Direction.DESC, "rating");
+        movieService.findAll(PageRequest.of(0, 10, byRating));
+
+        double[] ratings = {1.0, 9.9, 8.5, 8.5, 7.7, 0.5, 10.0, 8.3};
+        for (int i = 0; i < ratings.length; i++) {
+            Movie patch = new Movie();
+            patch.setRating(ratings[i]);
+            movieService.patchMovieById(heat.getId() + i % 5, patch);
+
+            Page<Movie> fromReplica = movieService.findAll(PageRequest.of(0, 10, byRating));
+            Page<Movie> fromDatabase = movieRepository.findAll(PageRequest.of(0, 10, byRating.and(Sort.by("id"))));
+            assertEquals(fromDatabase.getContent(), fromReplica.getContent(), "after change " + i);
+        }
+    }
+}
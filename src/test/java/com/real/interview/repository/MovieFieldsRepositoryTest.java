@@ -0,0 +1,89 @@
+package com.real.interview.repository;
+
+import com.real.interview.config.HibernateCacheConfig;
+import com.real.interview.dto.MovieField;
+import com.real.interview.entity.Movie;
+import com.real.interview.exception.InvalidFieldsException;
+import com.real.interview.repository.MovieRepositoryQueryPlanTest.CapturingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The ?fields= projections select only the requested columns and map them back in the requested order.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.real.interview.repository.MovieRepositoryQueryPlanTest$CapturingStatementInspector")
+@Import(HibernateCacheConfig.class)
+class MovieFieldsRepositoryTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + (char) ('A' + i % 26) + i);
+            movie.setGenre("Drama");
+            movie.setReleaseYear(1990 + i);
+            movie.setRating(7.5);
+            movies.add(movie);
+        }
+        movieRepository.saveAllAndFlush(movies);
+    }
+
+    private static String selectedColumns() {
+        String sql = CapturingStatementInspector.lastSelect().toLowerCase();
+        return sql.substring(0, sql.indexOf(" from "));
+    }
+
+    @Test
+    void findAllFields_SelectsOnlyRequestedColumns() {
+        // A short last page: the total is known without a count query, so the projection is the last SELECT
+        Page<Map<String, Object>> page = movieRepository.findAllFields(
+                MovieField.parse("title,id"), PageRequest.of(2, 12, Sort.by("title")));
+
+        String columns = selectedColumns();
+        assertTrue(columns.contains("title"));
+        assertTrue(columns.contains("id"));
+        assertFalse(columns.contains("genre"));
+        assertFalse(columns.contains("rating"));
+
+        assertEquals(6, page.getContent().size());
+        assertEquals(30, page.getTotalElements());
+        assertEquals(List.of("title", "id"), List.copyOf(page.getContent().get(0).keySet()));
+        assertEquals("Movie Z25", page.getContent().get(5).get("title"));
+    }
+
+    @Test
+    void findFieldsByTitleAndReleaseYear_ReturnsRequestedFields() {
+        List<Map<String, Object>> rows = movieRepository.findFieldsByTitleAndReleaseYear(
+                MovieField.parse("id,rating"), "Movie C2", 1992);
+
+        assertEquals(1, rows.size());
+        assertEquals(7.5, rows.get(0).get("rating"));
+        assertFalse(rows.get(0).containsKey("title"));
+        assertFalse(selectedColumns().contains("title"));
+    }
+
+    @Test
+    void findAllFields_RejectsUnknownSortProperty() {
+        List<MovieField> fields = MovieField.parse("id");
+
+        assertThrows(InvalidFieldsException.class,
+                () -> movieRepository.findAllFields(fields, PageRequest.of(0, 10, Sort.by("titleNormalized"))));
+    }
+}
@@ -0,0 +1,114 @@
+package com.real.interview.repository;
+
+import com.real.interview.config.HibernateCacheConfig;
+import com.real.interview.entity.Movie;
+import com.real.interview.metrics.SqlStatementStats;
+import com.real.interview.service.MovieService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the finder queries and Movie entities are served from the Hibernate second-level cache.
+ */
+@SpringBootTest(properties = "movie.l2cache.statistics.enabled=true")
+class MovieRepositoryCacheTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Movie saved;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = new Movie();
+        movie.setTitle("Heat");
+        movie.setGenre("Crime");
+        movie.setReleaseYear(1995);
+        saved = movieRepository.save(movie);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.end();
+    }
+
+    private <T> int statementsFor(Supplier<T> call) {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        call.get();
+        return stats.statements();
+    }
+
+    @Test
+    void findByTitleAndReleaseYear_SecondCallIsServedFromQueryCache() {
+        assertEquals(1, statementsFor(() -> movieRepository.findByTitleAndReleaseYear("Heat", 1995)));
+
+        assertEquals(0, statementsFor(() -> movieRepository.findByTitleAndReleaseYear("Heat", 1995)));
+        assertEquals(0, statementsFor(() -> movieRepository.findById(saved.getId())));
+    }
+
+    @Test
+    void findByReleaseYear_IsInvalidatedByWrites() {
+        movieRepository.findByReleaseYear(1995);
+
+        Movie sequel = new Movie();
+        sequel.setTitle("Heat 2");
+        sequel.setReleaseYear(1995);
+        movieRepository.save(sequel);
+
+        List<Movie> movies = movieRepository.findByReleaseYear(1995);
+        assertTrue(movies.stream().anyMatch(m -> "Heat 2".equals(m.getTitle())));
+    }
+
+    @Test
+    void regionStatistics_ArePublishedAsMeters() {
+        movieRepository.findById(saved.getId());
+
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.MOVIE_REGION).functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.cache.query.requests").functionCounter());
+    }
+
+    @Test
+    void singleMovieWrites_EvictOnlyThatMovie() {
+        Movie other = new Movie();
+        other.setTitle("Ronin");
+        other = movieRepository.save(other);
+        movieRepository.findById(saved.getId());
+        movieRepository.findById(other.getId());
+        movieRepository.findByTitleAndReleaseYear("Heat", 1995);
+
+        Movie changes = new Movie();
+        changes.setRating(8.3);
+        movieService.patchMovieById(saved.getId(), changes);
+
+        assertFalse(entityManagerFactory.getCache().contains(Movie.class, saved.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Movie.class, other.getId()));
+        assertTrue(movieRepository.findByTitleAndReleaseYear("Heat", 1995).stream()
+                .anyMatch(movie -> movie.getId().equals(saved.getId()) && movie.getRating() == 8.3));
+
+        movieService.deleteById(saved.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(Movie.class, other.getId()));
+        assertTrue(movieRepository.findByTitleAndReleaseYear("Heat", 1995).stream()
+                .noneMatch(movie -> movie.getId().equals(saved.getId())));
+    }
+}
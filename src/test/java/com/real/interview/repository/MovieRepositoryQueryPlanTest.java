@@ -0,0 +1,151 @@
+package com.real.interview.repository;
+
+import com.real.interview.config.HibernateCacheConfig;
+import com.real.interview.dto.MovieFilter;
+import com.real.interview.entity.Movie;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs H2 EXPLAIN on the SQL that Hibernate generates for the MovieRepository finders
+ * and fails if any of them is planned as a full table scan.
+ * The SQL is captured with a StatementInspector, so the check follows the real generated queries.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.real.interview.repository.MovieRepositoryQueryPlanTest$CapturingStatementInspector")
+@Import(HibernateCacheConfig.class)
+class MovieRepositoryQueryPlanTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Records every statement Hibernate prepares on the current thread.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+
+        static String lastSelect() {
+            List<String> statements = STATEMENTS.get();
+            for (int i = statements.size() - 1; i >= 0; i--) {
+                if (statements.get(i).trim().toLowerCase().startsWith("select")) {
+                    return statements.get(i);
+                }
+            }
+            throw new IllegalStateException("No SELECT statement was captured");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setGenre(i % 2 == 0 ? "Drama" : "Comedy");
+            movie.setReleaseYear(1950 + i % 70);
+            movie.setRating((i % 10) * 1.0);
+            movies.add(movie);
+        }
+        movieRepository.saveAllAndFlush(movies);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return new JdbcTemplate(dataSource).queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private void assertUsesIndex(String index, Object... parameters) {
+        String plan = explain(CapturingStatementInspector.lastSelect(), parameters);
+        assertFalse(plan.contains("tableScan"), () -> "Query falls back to a table scan:\n" + plan);
+        assertTrue(plan.toUpperCase().contains(index.toUpperCase()), () -> "Expected index " + index + " in plan:\n" + plan);
+    }
+
+    @Test
+    void findByTitleAndReleaseYear_UsesTitleReleaseYearIndex() {
+        movieRepository.findByTitleAndReleaseYear("Movie 7", 1957);
+
+        assertUsesIndex("idx_movie_title_release_year", "Movie 7", 1957);
+    }
+
+    @Test
+    void findByReleaseYear_UsesReleaseYearIndex() {
+        movieRepository.findByReleaseYear(1957);
+
+        assertUsesIndex("idx_movie_release_year", 1957);
+    }
+
+    @Test
+    void findByGenre_UsesGenreIndex() {
+        movieRepository.findByGenre("Drama");
+
+        assertUsesIndex("idx_movie_genre", "Drama");
+    }
+
+    @Test
+    void findByTitleNormalizedStartingWith_UsesNormalizedTitleIndex() {
+        List<Movie> movies = movieRepository.findByTitleNormalizedStartingWith(Movie.normalizeTitle("MOVIE 19"));
+
+        // "Movie 19" and "Movie 190" .. "Movie 199"
+        assertEquals(11, movies.size());
+        assertUsesIndex("idx_movie_title_normalized", "movie 19%");
+    }
+
+    @Test
+    void titleStartsWithSpecification_UsesNormalizedTitleIndex() {
+        List<Movie> movies = movieRepository.findAll(MovieSpecifications.titleStartsWith("MOVIE 19"));
+
+        assertEquals(11, movies.size());
+        assertUsesIndex("idx_movie_title_normalized", "movie 19%");
+    }
+
+    @Test
+    void genreInSpecification_UsesGenreIndex() {
+        movieRepository.findAll(MovieSpecifications.genreIn(List.of("Drama", "Horror")));
+
+        assertUsesIndex("idx_movie_genre", "Drama", "Horror");
+    }
+
+    @Test
+    void releasedBetweenSpecification_UsesReleaseYearIndex() {
+        movieRepository.findAll(MovieSpecifications.releasedBetween(1990, 1995));
+
+        assertUsesIndex("idx_movie_release_year", 1990, 1995);
+    }
+
+    @Test
+    void matchingFilter_CombinesAllCriteriaInOneQuery() {
+        CapturingStatementInspector.STATEMENTS.get().clear();
+        MovieFilter filter = new MovieFilter(1950, 1969, 4.0, 8.0, List.of("Drama"), "movie 1");
+
+        List<Movie> movies = movieRepository.findAll(MovieSpecifications.matching(filter));
+
+        assertEquals(1, CapturingStatementInspector.STATEMENTS.get().size());
+        // Drama (even i) from 1950-1969 is i % 70 < 20, rated 4..8 is i % 10 in 4..8, titled "Movie 1..."
+        assertEquals(List.of(14, 16, 18, 144, 146, 148, 154, 156, 158), movies.stream()
+                .map(movie -> Integer.parseInt(movie.getTitle().substring(6))).sorted().toList());
+        assertTrue(movieRepository.findAll(MovieSpecifications.titleStartsWith("Movie 1_")).isEmpty());
+        assertEquals(100, movieRepository.findAll(MovieSpecifications.matching(
+                new MovieFilter(null, null, null, null, List.of("Drama"), null))).size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.real.interview.repository;
+
+import com.real.interview.entity.Movie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The single-statement writes return the new version both with H2's delta table and with the portable statements
+ * used on other databases.
+ */
+@SpringBootTest
+class MovieWriteRepositoryTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieWriteRepositoryImpl movieWriteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void writes_OnH2_ReturnTheNewVersionFromTheDeltaTable() {
+        assertVersionsFollowWrites(true);
+    }
+
+    @Test
+    void writes_WithPortableStatements_ReturnTheNewVersion() {
+        assertVersionsFollowWrites(false);
+    }
+
+    private void assertVersionsFollowWrites(boolean h2) {
+        ReflectionTestUtils.setField(movieWriteRepository, "h2", h2);
+        try {
+            Movie movie = new Movie();
+            movie.setTitle("Heat");
+            long id = movieRepository.save(movie).getId();
+
+            assertEquals(1L, update(id, null));
+            assertEquals(2L, update(id, 1L));
+            assertNull(update(id, 1L));
+            assertNull(update(-1L, null));
+            assertEquals(0, (int) transactionTemplate.execute(status -> movieRepository.patchMovieById(
+                    id, "Ronin", "ronin", null, null, null, 1L, Movie.now())));
+            assertEquals(1, (int) transactionTemplate.execute(status -> movieRepository.patchMovieById(
+                    id, "Ronin", "ronin", null, null, null, 2L, Movie.now())));
+            assertEquals(3L, movieRepository.findById(id).orElseThrow().getVersion());
+        } finally {
+            movieWriteRepository.detectDatabase();
+        }
+    }
+
+    private Long update(long id, Long expectedVersion) {
+        return transactionTemplate.execute(status -> movieRepository.updateMovieById(
+                id, "Heat", "heat", "Crime", 1995, 8.3, expectedVersion, Movie.now()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.real.interview.search;
+
+import com.real.interview.dto.TitleSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSearchIndexTest {
+
+    private TitleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TitleSearchIndex();
+        index.add(1L, "The Godfather");
+        index.add(2L, "The Godfather Part II");
+        index.add(3L, "Godfather");
+        index.add(4L, "Goodfellas");
+        index.add(5L, "Mr. & Mrs. Smith");
+    }
+
+    private List<Long> ids(List<TitleSearchHit> hits) {
+        return hits.stream().map(TitleSearchHit::id).toList();
+    }
+
+    @Test
+    void search_RanksExactThenPrefixThenWordPrefixMatches() {
+        List<TitleSearchHit> hits = index.search("GODFATHER", 10);
+
+        // exact title, then word prefix with the shorter title first
+        assertEquals(List.of(3L, 1L, 2L), ids(hits));
+        assertEquals("Godfather", hits.get(0).title());
+    }
+
+    @Test
+    void search_MatchesSubstringsInsideWords() {
+        assertEquals(List.of(4L), ids(index.search("dfel", 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("father", 10)).stream().sorted().toList());
+    }
+
+    @Test
+    void search_ShortQueriesMatchWordPrefixes() {
+        assertEquals(List.of(5L), ids(index.search("m", 10)));
+        assertEquals(List.of(3L, 4L, 1L, 2L), ids(index.search("go", 10)));
+        // one- and two-character queries only match at the start of a word
+        assertTrue(index.search("fa", 10).isEmpty());
+    }
+
+    @Test
+    void search_AppliesLimit() {
+        assertEquals(1, index.search("godfather", 1).size());
+        assertEquals(3L, index.search("godfather", 1).get(0).id());
+    }
+
+    @Test
+    void add_ExistingIdReplacesTitle() {
+        index.add(4L, "Casino");
+
+        assertTrue(index.search("goodfellas", 10).isEmpty());
+        assertEquals(List.of(4L), ids(index.search("casino", 10)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void remove_DropsMovieFromResults() {
+        index.remove(3L);
+
+        assertEquals(List.of(1L, 2L), ids(index.search("godfather", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_CompactsIndexAfterManyDeletes() {
+        for (long id = 100; id < 3100; id++) {
+            index.add(id, "Sequel " + id);
+        }
+        for (long id = 100; id < 3000; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(105, index.size());
+        assertEquals(List.of(3000L), ids(index.search("sequel 3000", 10)));
+        assertEquals(List.of(3L, 1L, 2L), ids(index.search("godfather", 10)));
+    }
+}
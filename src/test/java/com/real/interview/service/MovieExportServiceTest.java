@@ -0,0 +1,74 @@
+package com.real.interview.service;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the streaming export against the in-memory H2 database.
+ */
+@SpringBootTest
+class MovieExportServiceTest {
+
+    @Autowired
+    private MovieExportService movieExportService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private Movie first;
+    private Movie second;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        first = createMovie("Heat", "Crime", 1995, 8.3);
+        second = createMovie("Crouching Tiger, Hidden Dragon", "Action", 2000, null);
+        movieRepository.saveAll(Arrays.asList(first, second));
+    }
+
+    private Movie createMovie(String title, String genre, Integer year, Double rating) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setGenre(genre);
+        movie.setReleaseYear(year);
+        movie.setRating(rating);
+        return movie;
+    }
+
+    @Test
+    void exportNdjson_WritesOneLinePerMovieInIdOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = movieExportService.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":" + first.getId()));
+        assertTrue(lines[0].contains("\"title\":\"Heat\""));
+        assertTrue(lines[1].contains("\"id\":" + second.getId()));
+    }
+
+    @Test
+    void exportCsv_WritesHeaderAndQuotesFieldsWithCommas() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = movieExportService.exportCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, count);
+        assertEquals("id,title,genre,releaseYear,rating", lines[0]);
+        assertEquals(first.getId() + ",Heat,Crime,1995,8.3", lines[1]);
+        assertEquals(second.getId() + ",\"Crouching Tiger, Hidden Dragon\",Action,2000,", lines[2]);
+    }
+}
@@ -0,0 +1,136 @@
+package com.real.interview.service;
+
+import com.real.interview.dto.MovieImportStatus;
+import com.real.interview.dto.MovieIngestResult;
+import com.real.interview.entity.Movie;
+import com.real.interview.exception.ImportCapacityExceededException;
+import com.real.interview.exception.InvalidImportException;
+import com.real.interview.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * File import pipeline against the in-memory H2 database.
+ * Chunks of 2 rows and a queue of 1 make every file span several chunks and exercise the backpressure path.
+ */
+@SpringBootTest(properties = {
+        "movie.import.chunk-size=2",
+        "movie.import.queue-capacity=1",
+        "movie.import.validation-threads=3"
+})
+class MovieImportServiceTest {
+
+    @Autowired
+    private MovieImportService movieImportService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    void importCsv_ImportsValidRowsAndReportsRejectedOnes() throws Exception {
+        String csv = """
+                id,title,genre,releaseYear,rating,director
+                99,Heat,Crime,1995,8.3,Mann
+                ,"Crouching Tiger, Hidden Dragon",Action,2000,7.9,Lee
+                ,,Drama,1990,5.0,
+                ,Ronin,Action,abc,7.3,Frankenheimer
+
+                ,Thief,Crime,1981,11,Mann
+                ,Collateral,,2004,,Mann
+                """;
+
+        MovieImportStatus status = awaitCompletion(movieImportService.start(
+                new MockMultipartFile("file", "movies.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(MovieImportStatus.State.COMPLETED, status.state());
+        assertEquals(6, status.rowsRead());
+        assertEquals(3, status.imported());
+        assertEquals(3, status.rejected());
+        assertEquals(List.of(2, 3, 4), status.rejections().stream().map(MovieIngestResult::index).sorted().toList());
+        assertTrue(status.rejections().stream().anyMatch(r -> r.error().contains("releaseYear")));
+
+        List<Movie> movies = movieRepository.findAll();
+        movies.sort(Comparator.comparing(Movie::getTitle));
+        assertEquals(List.of("Collateral", "Crouching Tiger, Hidden Dragon", "Heat"), movies.stream().map(Movie::getTitle).toList());
+        assertNotEquals(99L, movies.get(2).getId());
+        assertEquals(1995, movies.get(2).getReleaseYear());
+        assertNull(movies.get(0).getRating());
+    }
+
+    @Test
+    void importNdjson_IgnoresIdsAndRejectsMalformedLines() throws Exception {
+        String ndjson = """
+                {"id":1,"title":"Heat","genre":"Crime","releaseYear":1995,"rating":8.3}
+                {"title":"Ronin","genre":"Action","releaseYear":1998
+                {"title":"Thief","genre":"Crime","releaseYear":1981,"rating":7.4}
+
+                {"title":"Manhunter","genre":"Crime","releaseYear":1986,"rating":7.2}
+                """;
+
+        MovieImportStatus status = awaitCompletion(movieImportService.start(
+                new MockMultipartFile("file", "movies.ndjson", "application/x-ndjson", ndjson.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(MovieImportStatus.State.COMPLETED, status.state());
+        assertEquals(4, status.rowsRead());
+        assertEquals(3, status.imported());
+        assertEquals(1, status.rejected());
+        assertEquals(1, status.rejections().get(0).index());
+        assertEquals(3, movieRepository.count());
+        assertNotNull(status.finishedAt());
+    }
+
+    @Test
+    void start_RejectsUnsupportedFormat() {
+        MockMultipartFile file = new MockMultipartFile("file", "movies.xlsx", "application/octet-stream", new byte[]{1, 2, 3});
+
+        assertThrows(InvalidImportException.class, () -> movieImportService.start(file));
+    }
+
+    @Test
+    void start_RefusesJobsBeyondTheQueueAndFailsWaitingOnesOnShutdown() throws Exception {
+        // No running slots, so the one admitted job waits until shutdown interrupts it
+        MovieImportService saturated = new MovieImportService(new SimpleAsyncTaskExecutorBuilder(), 0, 1, 1);
+        MockMultipartFile file = new MockMultipartFile("file", "movies.csv", "text/csv",
+                "title,genre,releaseYear,rating\nHeat,Crime,1995,8.3\n".getBytes(StandardCharsets.UTF_8));
+
+        MovieImportStatus queued = saturated.start(file);
+        assertEquals(MovieImportStatus.State.QUEUED, queued.state());
+        assertThrows(ImportCapacityExceededException.class, () -> saturated.start(file));
+
+        saturated.shutdown();
+        MovieImportStatus status = awaitCompletion(saturated, queued);
+        assertEquals(MovieImportStatus.State.FAILED, status.state());
+        assertEquals(0, movieRepository.count());
+    }
+
+    private MovieImportStatus awaitCompletion(MovieImportStatus started) throws InterruptedException {
+        return awaitCompletion(movieImportService, started);
+    }
+
+    private static MovieImportStatus awaitCompletion(MovieImportService service, MovieImportStatus started) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            MovieImportStatus status = service.getStatus(started.id()).orElseThrow();
+            if (status.finishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Import " + started.id() + " did not finish");
+        return null;
+    }
+}
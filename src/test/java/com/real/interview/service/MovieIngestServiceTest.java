@@ -0,0 +1,105 @@
+package com.real.interview.service;
+
+import com.real.interview.dto.MovieIngestReport;
+import com.real.interview.dto.MovieIngestResult;
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the batched ingest path against the in-memory H2 database.
+ * A chunk size of 2 makes every test span several chunks and transactions.
+ */
+@SpringBootTest(properties = "movie.ingest.chunk-size=2")
+class MovieIngestServiceTest {
+
+    @Autowired
+    private MovieIngestService movieIngestService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+    }
+
+    private Movie createMovie(String title, Integer year) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setReleaseYear(year);
+        movie.setGenre("Drama");
+        movie.setRating(7.5);
+        return movie;
+    }
+
+    @Test
+    void ingest_PersistsAllValidMoviesAcrossChunks() {
+        MovieIngestReport report = movieIngestService.ingest(Arrays.asList(
+                createMovie("Heat", 1995),
+                createMovie("Ronin", 1998),
+                createMovie("Collateral", 2004),
+                createMovie("Thief", 1981),
+                createMovie("Manhunter", 1986)));
+
+        assertEquals(5, report.created());
+        assertEquals(0, report.failed());
+        assertEquals(5, movieRepository.count());
+        for (int i = 0; i < report.results().size(); i++) {
+            MovieIngestResult result = report.results().get(i);
+            assertEquals(i, result.index());
+            assertEquals(MovieIngestResult.Status.CREATED, result.status());
+            assertTrue(movieRepository.existsById(result.id()));
+        }
+    }
+
+    @Test
+    void ingest_ReportsInvalidItemsAndKeepsInputOrder() {
+        Movie withId = createMovie("Alien", 1979);
+        withId.setId(42L);
+        Movie badRating = createMovie("Aliens", 1986);
+        badRating.setRating(11.0);
+
+        MovieIngestReport report = movieIngestService.ingest(Arrays.asList(
+                createMovie("Blade Runner", 1982),
+                createMovie(" ", 1990),
+                withId,
+                badRating,
+                createMovie("Gattaca", 1997)));
+
+        assertEquals(2, report.created());
+        assertEquals(3, report.failed());
+        assertEquals(MovieIngestResult.Status.CREATED, report.results().get(0).status());
+        assertEquals("Movie title is required", report.results().get(1).error());
+        assertEquals("Movie id is generated and must not be supplied", report.results().get(2).error());
+        assertEquals("Movie rating must be between 0 and 10", report.results().get(3).error());
+        assertEquals(MovieIngestResult.Status.CREATED, report.results().get(4).status());
+        assertEquals(2, movieRepository.count());
+    }
+
+    @Test
+    void ingestNdjson_StopsAtMalformedLineAndKeepsEarlierRows() throws Exception {
+        String ndjson = """
+                {"title":"Arrival","releaseYear":2016}
+                {"title":"Sicario","releaseYear":2015}
+                {"title":"Enemy",
+                """;
+
+        MovieIngestReport report = movieIngestService.ingestNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, report.created());
+        assertEquals(1, report.failed());
+        assertTrue(report.results().get(2).error().startsWith("Malformed input"));
+        assertEquals(2, movieRepository.count());
+    }
+}
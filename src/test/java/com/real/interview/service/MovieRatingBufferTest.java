@@ -0,0 +1,177 @@
+package com.real.interview.service;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.metrics.SqlStatementStats;
+import com.real.interview.repository.MovieRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Write-behind rating updates: coalescing, read-your-writes through MovieService, and batched flushes.
+ * The scheduled flush is pushed out of the way so each test flushes explicitly.
+ */
+@SpringBootTest(properties = {"movie.rating.flush-interval=1h", "movie.rating.batch-size=2"})
+@AutoConfigureMockMvc
+class MovieRatingBufferTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRatingBuffer movieRatingBuffer;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Movie> movies;
+
+    @BeforeEach
+    void setUp() {
+        movies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setReleaseYear(2000);
+            movie.setRating(5.0);
+            movies.add(movie);
+        }
+        movies = movieRepository.saveAll(movies);
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieRatingBuffer.flush();
+        SqlStatementStats.end();
+    }
+
+    private double storedRating(Movie movie) {
+        return movieRepository.findById(movie.getId()).orElseThrow().getRating();
+    }
+
+    @Test
+    void putRating_IsAcceptedAndVisibleBeforeItIsWritten() throws Exception {
+        Long id = movies.get(0).getId();
+        movieService.findById(id);
+
+        mockMvc.perform(put("/api/movies/{movieId}/rating", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 9.1}"))
+                .andExpect(status().isAccepted());
+
+        assertEquals(5.0, storedRating(movies.get(0)));
+        mockMvc.perform(get("/api/movies/{movieId}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating", is(9.1)));
+    }
+
+    @Test
+    void putRating_RejectsOutOfRangeValues() throws Exception {
+        mockMvc.perform(put("/api/movies/{movieId}/rating", movies.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 11}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, movieRatingBuffer.pendingCount());
+    }
+
+    @Test
+    void flush_WritesTheLastRatingPerMovieInBatches() {
+        for (int i = 1; i <= 5; i++) {
+            for (Movie movie : movies) {
+                movieService.updateRating(movie.getId(), (double) i);
+            }
+        }
+        assertEquals(3, movieRatingBuffer.pendingCount());
+
+        SqlStatementStats stats = SqlStatementStats.begin();
+        movieRatingBuffer.flush();
+
+        // 3 coalesced updates in batches of 2, each batch committed with one batched insert of its outbox rows
+        assertEquals(4, stats.statements());
+        assertEquals(0, movieRatingBuffer.pendingCount());
+        for (Movie movie : movies) {
+            assertEquals(5.0, storedRating(movie));
+            assertEquals(5.0, movieService.findById(movie.getId()).getRating());
+        }
+        assertEquals(movies.get(0).getVersion() + 1, movieRepository.findById(movies.get(0).getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void updateMovieById_DiscardsAPendingRating() {
+        Movie movie = movies.get(1);
+        movieService.updateRating(movie.getId(), 2.0);
+
+        Movie replacement = new Movie();
+        replacement.setTitle(movie.getTitle());
+        replacement.setReleaseYear(movie.getReleaseYear());
+        replacement.setRating(7.0);
+        movieService.updateMovieById(movie.getId(), replacement);
+        movieRatingBuffer.flush();
+
+        assertEquals(7.0, storedRating(movie));
+    }
+
+    @Test
+    void flush_KeepsRatingsOfAFailedBatchForTheNextFlush() {
+        Movie movie = movies.get(2);
+        movieService.updateRating(movie.getId(), 3.0);
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+                .doCallRealMethod()
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        movieRatingBuffer.flush();
+
+        assertEquals(5.0, storedRating(movie));
+        assertEquals(1, movieRatingBuffer.pendingCount());
+        assertEquals(3.0, movieService.findById(movie.getId()).getRating());
+
+        movieRatingBuffer.flush();
+
+        assertEquals(3.0, storedRating(movie));
+        assertEquals(0, movieRatingBuffer.pendingCount());
+    }
+
+    @Test
+    void projectedReads_OverlayPendingRatings() throws Exception {
+        Movie movie = new Movie();
+        movie.setTitle("Projected " + System.nanoTime());
+        movie.setReleaseYear(2000);
+        movie.setRating(5.0);
+        movie = movieRepository.save(movie);
+        movieService.updateRating(movie.getId(), 8.8);
+
+        mockMvc.perform(get("/api/movies/search")
+                        .param("title", movie.getTitle())
+                        .param("year", "2000")
+                        .param("fields", "title,rating"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rating", is(8.8)))
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+    }
+}
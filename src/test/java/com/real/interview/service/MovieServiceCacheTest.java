@@ -0,0 +1,97 @@
+package com.real.interview.service;
+
+import com.real.interview.config.CacheConfig;
+import com.real.interview.entity.Movie;
+import com.real.interview.exception.MovieNotFoundException;
+import com.real.interview.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies that MovieService.findById is served from the cache and that writes keep the cache in sync.
+ */
+@SpringBootTest
+class MovieServiceCacheTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @MockitoSpyBean
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Movie saved;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = new Movie();
+        movie.setTitle("Heat");
+        movie.setReleaseYear(1995);
+        saved = movieService.save(movie);
+        clearInvocations(movieRepository);
+    }
+
+    @Test
+    void findById_SecondCallIsServedFromCache() {
+        movieService.findById(saved.getId());
+        movieService.findById(saved.getId());
+
+        // save() already populated the cache, so the repository is never consulted
+        verify(movieRepository, never()).findById(saved.getId());
+    }
+
+    @Test
+    void updateMovieById_EvictsCachedMovie() {
+        Movie changes = new Movie();
+        changes.setTitle("Heat (Director's Cut)");
+        changes.setReleaseYear(1995);
+
+        movieService.updateMovieById(saved.getId(), changes);
+        clearInvocations(movieRepository);
+
+        // The new version is not known without reading the row, so the next lookup reloads it once
+        assertEquals("Heat (Director's Cut)", movieService.findById(saved.getId()).getTitle());
+        assertEquals("Heat (Director's Cut)", movieService.findById(saved.getId()).getTitle());
+        verify(movieRepository, times(1)).findById(saved.getId());
+    }
+
+    @Test
+    void deleteById_EvictsCachedMovie() {
+        assertTrue(movieService.deleteById(saved.getId()));
+
+        assertThrows(MovieNotFoundException.class, () -> movieService.findById(saved.getId()));
+        verify(movieRepository, times(1)).findById(saved.getId());
+    }
+
+    @Test
+    void findById_DoesNotCacheWhatItReadBeforeAConcurrentUpdate() throws Exception {
+        cacheManager.getCache(CacheConfig.MOVIES_CACHE).evict(saved.getId());
+        Movie changes = new Movie();
+        changes.setTitle("Heat (Director's Cut)");
+        changes.setReleaseYear(1995);
+        Thread updater = new Thread(() -> movieService.updateMovieById(saved.getId(), changes));
+        // The update commits and evicts while the lookup still holds the old row
+        Movie old = saved.copy();
+        doAnswer(invocation -> {
+            updater.start();
+            Thread.sleep(300);
+            return Optional.of(old);
+        }).when(movieRepository).findById(saved.getId());
+
+        assertEquals("Heat", movieService.findById(saved.getId()).getTitle());
+        updater.join();
+
+        assertNull(cacheManager.getCache(CacheConfig.MOVIES_CACHE).get(saved.getId()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.real.interview.service;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.exception.MovieNotFoundException;
+import com.real.interview.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires bursts of identical concurrent lookups at MovieService and checks that the database
+ * sees one query per key per burst. Every SELECT is slowed down so the burst overlaps it;
+ * the lookup cache and the Hibernate second-level cache are off so each executed call reaches H2.
+ */
+@SpringBootTest(properties = {
+        "movie.cache.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "movie.l2cache.statistics.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.real.interview.service.MovieServiceSingleFlightTest$SlowSelectInspector"})
+class MovieServiceSingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService executor;
+    private Movie movie;
+
+    /**
+     * Delays every SELECT on the calling thread while {@link #enabled} is set.
+     */
+    public static class SlowSelectInspector implements StatementInspector {
+
+        static volatile boolean enabled;
+
+        @Override
+        public String inspect(String sql) {
+            if (enabled && sql.trim().toLowerCase().startsWith("select")) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        movie = new Movie();
+        movie.setTitle("Heat");
+        movie.setReleaseYear(1995);
+        movie = movieRepository.save(movie);
+
+        SlowSelectInspector.enabled = true;
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SlowSelectInspector.enabled = false;
+        executor.shutdownNow();
+    }
+
+    private <T> List<T> burst(Callable<T> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private long queries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private double calls(String operation, String outcome) {
+        return meterRegistry.get("movie.singleflight.calls")
+                .tag("operation", operation).tag("outcome", outcome).functionCounter().count();
+    }
+
+    @Test
+    void findById_ConcurrentBurstRunsOneQuery() throws Exception {
+        double coalescedBefore = calls("findById", "coalesced");
+        long queriesBefore = queries();
+
+        List<Movie> results = burst(() -> movieService.findById(movie.getId()));
+
+        assertTrue(results.stream().allMatch(m -> "Heat".equals(m.getTitle())));
+        assertEquals(1, queries() - queriesBefore);
+        assertEquals(CALLERS - 1, calls("findById", "coalesced") - coalescedBefore);
+
+        // Once the burst is over the next call queries again
+        movieService.findById(movie.getId());
+        assertEquals(2, queries() - queriesBefore);
+    }
+
+    @Test
+    void findByTitleAndReleaseYear_ConcurrentBurstRunsOneQueryPerKey() throws Exception {
+        long queriesBefore = queries();
+
+        List<List<Movie>> results = burst(() -> movieService.findByTitleAndReleaseYear("Heat", 1995));
+        burst(() -> movieService.findByTitleAndReleaseYear("Heat", 1996));
+
+        assertTrue(results.stream().allMatch(movies -> movies.size() == 1));
+        assertEquals(2, queries() - queriesBefore);
+    }
+
+    @Test
+    void findById_FailureIsSharedWithCoalescedCallers() throws Exception {
+        long missingId = movie.getId() + 1000;
+        long queriesBefore = queries();
+
+        List<String> outcomes = burst(() -> {
+            try {
+                movieService.findById(missingId);
+                return "found";
+            } catch (MovieNotFoundException e) {
+                return "not found";
+            }
+        });
+
+        assertTrue(outcomes.stream().allMatch("not found"::equals));
+        assertEquals(1, queries() - queriesBefore);
+    }
+}
@@ -1,14 +1,20 @@
 package com.real.interview.service;
 
+import com.real.interview.dto.CursorPage;
 import com.real.interview.entity.Movie;
+import com.real.interview.exception.InvalidCursorException;
 import com.real.interview.exception.MovieNotFoundException;
+import com.real.interview.exception.MovieVersionMismatchException;
 import com.real.interview.repository.MovieRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,6 +30,13 @@ public class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Empty write-behind buffer: reads pass through unchanged
+    @Spy
+    private MovieRatingBuffer ratingBuffer = new MovieRatingBuffer();
+
     // Inject the mocked repository into the service instance being tested
     @InjectMocks
     private MovieService movieService;
@@ -89,6 +102,16 @@ public class MovieServiceTest {
         assertEquals("Avatar", foundMovie.getTitle());
     }
 
+    @Test
+    void findById_ReturnsADetachedCopyOfTheLoadedEntity() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie1));
+
+        Movie foundMovie = movieService.findById(1L);
+
+        assertNotSame(testMovie1, foundMovie);
+        assertEquals(testMovie1, foundMovie);
+    }
+
     @Test()
     void testFindById_NotFound() {
         // Arrange
@@ -126,32 +149,121 @@ public class MovieServiceTest {
 
     @Test
     void testDeleteById_Success() {
-        // Arrange: Mock the existence check to return true
-        when(movieRepository.existsById(1L)).thenReturn(true);
-        // We don't need to mock the deleteById return value since it's void
+        // Arrange: the DELETE statement reports one affected row
+        when(movieRepository.deleteMovieById(1L)).thenReturn(1);
 
         // Act
         boolean result = movieService.deleteById(1L);
 
         // Assert
         assertTrue(result);
-        // Verify that both existence check and delete method were called
-        verify(movieRepository, times(1)).existsById(1L);
-        verify(movieRepository, times(1)).deleteById(1L);
+        // A single DELETE, no existence check or load beforehand
+        verify(movieRepository, times(1)).deleteMovieById(1L);
+        verify(movieRepository, never()).existsById(anyLong());
+        verify(movieRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void testDeleteById_NotFound() {
-        // Arrange: Mock the existence check to return false
-        when(movieRepository.existsById(99L)).thenReturn(false);
+        // Arrange: the DELETE statement matched no row
+        when(movieRepository.deleteMovieById(99L)).thenReturn(0);
 
         // Act
         boolean result = movieService.deleteById(99L);
 
         // Assert
         assertFalse(result);
-        // Verify that the existence check was called, but deleteById was NOT called
-        verify(movieRepository, times(1)).existsById(99L);
-        verify(movieRepository, never()).deleteById(anyLong());
+        verify(movieRepository, times(1)).deleteMovieById(99L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateMovieById_Success() {
+        // Arrange
+        when(movieRepository.updateMovieById(eq(1L), eq("Avatar"), eq("avatar"), isNull(), eq(2009), isNull(), isNull(), any())).thenReturn(1L);
+
+        // Act
+        Movie updated = movieService.updateMovieById(1L, testMovie1);
+
+        // Assert
+        assertEquals(1L, updated.getId());
+        assertEquals("Avatar", updated.getTitle());
+        assertEquals(1L, updated.getVersion());
+        verify(movieRepository, never()).findById(anyLong());
+        verify(movieRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateMovieById_NotFound() {
+        // Arrange
+        when(movieRepository.updateMovieById(eq(99L), eq("Avatar"), eq("avatar"), isNull(), eq(2009), isNull(), isNull(), any())).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(MovieNotFoundException.class, () -> movieService.updateMovieById(99L, testMovie1));
+    }
+
+    @Test
+    void testUpdateMovieById_StaleVersion_ThrowsVersionMismatch() {
+        // Arrange: the conditional UPDATE matched nothing, but the movie exists
+        when(movieRepository.updateMovieById(eq(1L), eq("Avatar"), eq("avatar"), isNull(), eq(2009), isNull(), eq(3L), any())).thenReturn(null);
+        when(movieRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(MovieVersionMismatchException.class, () -> movieService.updateMovieById(1L, testMovie1, 3L));
+    }
+
+    @Test
+    void testUpdateMovieById_ExpectedVersion_ReturnsNextVersion() {
+        when(movieRepository.updateMovieById(eq(1L), eq("Avatar"), eq("avatar"), isNull(), eq(2009), isNull(), eq(3L), any())).thenReturn(4L);
+
+        assertEquals(4L, movieService.updateMovieById(1L, testMovie1, 3L).getVersion());
+        verify(movieRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void testPatchMovieById_PassesOnlySuppliedFields() {
+        // Arrange
+        Movie changes = new Movie();
+        changes.setRating(7.9);
+        when(movieRepository.patchMovieById(eq(1L), isNull(), isNull(), isNull(), isNull(), eq(7.9), isNull(), any())).thenReturn(1);
+
+        // Act & Assert
+        assertTrue(movieService.patchMovieById(1L, changes));
+        assertFalse(movieService.patchMovieById(2L, changes));
+    }
+
+    @Test
+    void testFindAfter_FirstPageWithMoreRows_ReturnsNextCursor() {
+        // Arrange: size 1 fetches one extra row to detect the next page
+        when(movieRepository.findPageAfter(0L, Limit.of(2))).thenReturn(Arrays.asList(testMovie1, testMovie2));
+
+        // Act
+        CursorPage<Movie> page = movieService.findAfter("", 1);
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertEquals("Avatar", page.content().get(0).getTitle());
+        assertTrue(page.hasNext());
+        assertEquals(1L, MovieService.decodeCursor(page.nextCursor()));
+    }
+
+    @Test
+    void testFindAfter_LastPage_HasNoCursor() {
+        // Arrange
+        when(movieRepository.findPageAfter(1L, Limit.of(11))).thenReturn(Arrays.asList(testMovie2));
+
+        // Act
+        CursorPage<Movie> page = movieService.findAfter(MovieService.encodeCursor(1L), 10);
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testFindAfter_InvalidCursor_Throws() {
+        assertThrows(InvalidCursorException.class, () -> movieService.findAfter("not-a-cursor!", 10));
+        verify(movieRepository, never()).findPageAfter(anyLong(), any(Limit.class));
     }
 }
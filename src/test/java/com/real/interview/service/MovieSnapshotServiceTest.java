@@ -0,0 +1,132 @@
+package com.real.interview.service;
+
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snapshot file contents and incremental refresh, with small segments and the scheduled refresh out of the way.
+ */
+@SpringBootTest(properties = {"movie.snapshot.segment-size=10", "movie.snapshot.refresh-delay=1h"})
+class MovieSnapshotServiceTest {
+
+    @Autowired
+    private MovieSnapshotService movieSnapshotService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private List<Movie> movies;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        movies = new ArrayList<>();
+        for (int i = 0; i < 35; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setReleaseYear(1990 + i);
+            movies.add(movie);
+        }
+        movies = movieRepository.saveAll(movies);
+        movieSnapshotService.rebuild();
+    }
+
+    private List<String> snapshotLines() throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(movieSnapshotService.current().file()))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+        }
+    }
+
+    @Test
+    void rebuild_WritesEveryMovieInIdOrder() throws Exception {
+        List<String> lines = snapshotLines();
+
+        assertEquals(35, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":" + movies.get(0).getId()));
+        assertTrue(lines.get(34).contains("\"title\":\"Movie 34\""));
+    }
+
+    @Test
+    void refresh_RerendersOnlyTheChangedSegment() throws Exception {
+        long generation = movieSnapshotService.current().generation();
+        long rendered = movieSnapshotService.renderedSegments();
+        Movie changes = new Movie();
+        changes.setTitle("Renamed");
+
+        movieService.patchMovieById(movies.get(12).getId(), changes);
+        movieSnapshotService.refresh();
+
+        assertEquals(rendered + 1, movieSnapshotService.renderedSegments());
+        assertEquals(generation + 1, movieSnapshotService.current().generation());
+        List<String> lines = snapshotLines();
+        assertEquals(35, lines.size());
+        assertTrue(lines.get(12).contains("\"title\":\"Renamed\""));
+    }
+
+    @Test
+    void refresh_DropsDeletedMovies() throws Exception {
+        movieService.deleteById(movies.get(0).getId());
+        movieService.deleteById(movies.get(34).getId());
+        movieSnapshotService.refresh();
+
+        List<String> lines = snapshotLines();
+        assertEquals(33, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":" + movies.get(1).getId()));
+    }
+
+    @Test
+    void refresh_WithoutChangesKeepsTheCurrentFile() {
+        long generation = movieSnapshotService.current().generation();
+
+        movieSnapshotService.refresh();
+
+        assertEquals(generation, movieSnapshotService.current().generation());
+    }
+
+    @Test
+    void refresh_PublishesANewFileAndKeepsTheReplacedOne() throws Exception {
+        MovieSnapshotService.Snapshot previous = movieSnapshotService.current();
+        Movie changes = new Movie();
+        changes.setTitle("Renamed");
+
+        movieService.patchMovieById(movies.get(3).getId(), changes);
+        movieSnapshotService.refresh();
+
+        assertNotEquals(previous.file(), movieSnapshotService.current().file());
+        assertEquals(previous.size(), Files.size(previous.file()));
+    }
+
+    @Test
+    void eTag_FollowsTheContentRatherThanTheGeneration() {
+        MovieSnapshotService.Snapshot previous = movieSnapshotService.current();
+
+        movieSnapshotService.rebuild();
+        MovieSnapshotService.Snapshot rebuilt = movieSnapshotService.current();
+        assertNotEquals(previous.generation(), rebuilt.generation());
+        assertEquals(previous.eTag(), rebuilt.eTag());
+
+        Movie changes = new Movie();
+        changes.setTitle("Renamed");
+        movieService.patchMovieById(movies.get(3).getId(), changes);
+        movieSnapshotService.refresh();
+        assertNotEquals(rebuilt.eTag(), movieSnapshotService.current().eTag());
+    }
+}
@@ -0,0 +1,147 @@
+package com.real.interview.stats;
+
+import com.real.interview.dto.MovieGroupStats;
+import com.real.interview.dto.MovieStats;
+import com.real.interview.entity.Movie;
+import com.real.interview.repository.MovieRepository;
+import com.real.interview.service.MovieService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the statistics follow writes made through MovieService and agree with the SQL GROUP BY.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.real.interview.stats.MovieStatsCountersTest$ScanInspector")
+class MovieStatsCountersTest {
+
+    /**
+     * Runs {@link #beforeScan} once, just before the full-table scan of {@link MovieStatsCounters#load()} executes.
+     */
+    public static class ScanInspector implements StatementInspector {
+
+        static final AtomicReference<Runnable> beforeScan = new AtomicReference<>();
+
+        @Override
+        public String inspect(String sql) {
+            String lower = sql.toLowerCase();
+            if (lower.startsWith("select") && lower.contains(" from movie ") && !lower.contains(" where ")
+                    && !lower.contains(" group by ")) {
+                Runnable hook = beforeScan.getAndSet(null);
+                if (hook != null) {
+                    hook.run();
+                }
+            }
+            return sql;
+        }
+    }
+
+    @Autowired
+    private MovieStatsCounters movieStatsCounters;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private Movie heat;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        movieStatsCounters.load();
+        heat = movieService.save(createMovie("Heat", "Crime", 1995, 8.0));
+        movieService.save(createMovie("Casino", "Crime", 1995, 7.0));
+        movieService.save(createMovie("Se7en", "Thriller", 1995, null));
+        movieService.save(createMovie("Zodiac", "Thriller", 2007, 8.0));
+    }
+
+    private Movie createMovie(String title, String genre, Integer year, Double rating) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setGenre(genre);
+        movie.setReleaseYear(year);
+        movie.setRating(rating);
+        return movie;
+    }
+
+    private MovieGroupStats genre(MovieStats stats, String genre) {
+        return stats.byGenre().stream().filter(g -> genre.equals(g.genre())).findFirst().orElse(null);
+    }
+
+    @Test
+    void stats_GroupsCountsAndAverageRatings() {
+        MovieStats stats = movieStatsCounters.stats();
+
+        assertEquals(4, stats.totalMovies());
+        assertEquals(23.0 / 3, stats.averageRating(), 1e-9);
+        assertEquals(new MovieGroupStats("Crime", null, 2, 7.5), genre(stats, "Crime"));
+        // unrated movies count but do not pull the average down
+        assertEquals(new MovieGroupStats("Thriller", null, 2, 8.0), genre(stats, "Thriller"));
+        assertEquals(new MovieGroupStats(null, 1995, 3, 7.5), stats.byReleaseYear().get(0));
+        assertEquals(3, stats.byGenreAndReleaseYear().size());
+        assertTrue(movieStatsCounters.reconcile());
+    }
+
+    @Test
+    void stats_FollowUpdatePatchAndDelete() {
+        movieService.updateMovieById(heat.getId(), createMovie("Heat", "Thriller", 1995, 9.0));
+        Movie changes = new Movie();
+        changes.setReleaseYear(2000);
+        movieService.patchMovieById(heat.getId(), changes);
+
+        MovieStats stats = movieStatsCounters.stats();
+        assertEquals(new MovieGroupStats("Crime", null, 1, 7.0), genre(stats, "Crime"));
+        assertEquals(new MovieGroupStats("Thriller", null, 3, 8.5), genre(stats, "Thriller"));
+        assertTrue(movieStatsCounters.reconcile());
+
+        movieService.deleteById(heat.getId());
+
+        assertEquals(3, movieStatsCounters.stats().totalMovies());
+        assertTrue(movieStatsCounters.reconcile());
+    }
+
+    @Test
+    void reconcile_RebuildsCountersThatDrifted() {
+        movieStatsCounters.put(-1L, "Ghost", 1900, 1.0);
+        assertEquals(5, movieStatsCounters.stats().totalMovies());
+
+        assertFalse(movieStatsCounters.reconcile());
+
+        assertEquals(4, movieStatsCounters.stats().totalMovies());
+        assertNull(genre(movieStatsCounters.stats(), "Ghost"));
+        assertTrue(movieStatsCounters.reconcile());
+    }
+
+    @Test
+    void load_KeepsWritesThatArriveDuringTheScan() {
+        Movie zodiac = movieRepository.findByTitleAndReleaseYear("Zodiac", 2007).get(0);
+        ScanInspector.beforeScan.set(() -> {
+            // Writes on another thread must neither wait for the scan nor get lost by it
+            Thread writer = new Thread(() -> {
+                movieService.save(createMovie("Ronin", "Action", 1998, 7.0));
+                movieService.deleteById(zodiac.getId());
+            });
+            writer.start();
+            assertDoesNotThrow(() -> writer.join(10_000));
+            assertFalse(writer.isAlive());
+        });
+
+        movieStatsCounters.load();
+
+        assertNull(ScanInspector.beforeScan.get());
+        MovieStats stats = movieStatsCounters.stats();
+        assertEquals(4, stats.totalMovies());
+        assertEquals(new MovieGroupStats("Action", null, 1, 7.0), genre(stats, "Action"));
+        assertEquals(new MovieGroupStats("Thriller", null, 1, null), genre(stats, "Thriller"));
+        assertTrue(movieStatsCounters.reconcile());
+    }
+}